@@ -0,0 +1,69 @@
+package nqueens;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class compares the Vector API path of ConflictCounter with its scalar
+ * loop on random boards, from short counters up to a million queens with int
+ * counters. The forks load the jdk.incubator.vector module, so vectorized=true
+ * really takes the vector path
+ * @author James Wooten
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class ConflictCounterBenchmark {
+
+    @Param({"1024", "32768", "1048576"})
+    public int n;
+
+    @Param({"true", "false"})
+    public boolean vectorized;
+
+    private ConflictCounter counter;
+    private int[] queens;
+
+    /**
+     * Creates the counter and a random board
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if(this.vectorized && !ConflictCounter.VECTOR_AVAILABLE) {
+            throw new IllegalStateException("The jdk.incubator.vector module is not loaded");
+        }
+
+        SplittableRandom rng = new SplittableRandom(42);
+        this.counter = new ConflictCounter(this.n, this.vectorized);
+        this.queens = new int[this.n];
+
+        for(int i = 0; i < this.n; i++) {
+            this.queens[i] = rng.nextInt(this.n);
+        }
+    }
+
+    /**
+     * Counts the attacking pairs of the board
+     * @return long the attacking pairs
+     */
+    @Benchmark
+    public long count() {
+        return this.counter.count(this.queens);
+    }
+}
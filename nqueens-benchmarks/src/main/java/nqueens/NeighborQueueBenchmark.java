@@ -0,0 +1,55 @@
+package nqueens;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks filling the NeighborQueue with a full step of tied
+ * moves and dequeuing the random pick
+ * @author James Wooten
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class NeighborQueueBenchmark {
+
+    @Param({"8", "32", "128", "1024"})
+    public int n;
+
+    private NeighborQueue queue;
+
+    /**
+     * Creates the queue
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.queue = new NeighborQueue();
+    }
+
+    /** 
+     * Enqueues n tied moves and dequeues one of them
+     * @return long the packed move
+     */
+    @Benchmark
+    public long enqueueDequeue() {
+        for(int i = 0; i < this.n; i++) {
+            this.queue.enqueue(i, i, 1);
+        }
+        return this.queue.dequeue();
+    }
+}
@@ -0,0 +1,111 @@
+package nqueens;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks every search strategy, both a single neighborhood scan
+ * and a full simulation round from a fresh board. Rounds run with path printing
+ * off so only the search itself is timed
+ * @author James Wooten
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class SearchBenchmark {
+
+    @Param({"8", "32", "128", "1024"})
+    public int n;
+
+    @Param({"HillClimbSearch", "HillClimbSearchSideways", "HillClimbSearchRandomRestart",
+            "HillClimbSearchRandomRestartSideways", "MinConflictsSearch", "TabuSearch",
+            "SimulatedAnnealingSearch"})
+    public String search;
+
+    private HillClimbSearch scan;
+
+    /**
+     * Creates the search and the board used for the neighborhood scans
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.scan = this.newSearch();
+        this.scan.current = this.scan.createInitialState();
+    }
+
+    /** 
+     * Scores the whole neighborhood of one board
+     * @return State the current state
+     */
+    @Benchmark
+    public State generateBestNeighbors() {
+        this.scan.generateBestNeighbors();
+
+        if(this.scan instanceof HillClimbSearchSideways) {
+            ((HillClimbSearchSideways) this.scan).neighbors.clear();
+        }
+        return this.scan.current;
+    }
+
+    /** 
+     * Runs one full simulation round, the unit of work of run(n)
+     * @return long the h(n) the round ended with
+     */
+    @Benchmark
+    public long simRound() {
+        HillClimbSearch trial = this.newSearch();
+        trial.current = trial.createInitialState();
+        trial.simRound(0);
+        return trial.current.getHValue();
+    }
+
+    /** 
+     * Creates a quiet single-trial search of the benchmarked type
+     * @return HillClimbSearch the new search
+     */
+    private HillClimbSearch newSearch() {
+        HillClimbSearch s;
+
+        switch(this.search) {
+            case "HillClimbSearchSideways":
+                s = new HillClimbSearchSideways(1);
+                break;
+            case "HillClimbSearchRandomRestart":
+                s = new HillClimbSearchRandomRestart(1);
+                break;
+            case "HillClimbSearchRandomRestartSideways":
+                s = new HillClimbSearchRandomRestartSideways(1);
+                break;
+            case "MinConflictsSearch":
+                s = new MinConflictsSearch(1);
+                break;
+            case "TabuSearch":
+                s = new TabuSearch(1);
+                break;
+            case "SimulatedAnnealingSearch":
+                s = new SimulatedAnnealingSearch(1);
+                break;
+            default:
+                s = new HillClimbSearch(1);
+        }
+
+        s.n = this.n;
+        s.printTrace = false;
+        return s;
+    }
+}
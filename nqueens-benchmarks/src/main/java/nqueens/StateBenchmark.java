@@ -0,0 +1,96 @@
+package nqueens;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks building a State and scoring it, with the pairwise
+ * checks, the conflict counters of the state and a ConflictCounter
+ * @author James Wooten
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class StateBenchmark {
+
+    @Param({"8", "32", "128", "1024"})
+    public int n;
+
+    private State state;
+    private ConflictCounter counter;
+
+    /**
+     * Creates the random state to score
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.state = new State(this.n);
+        this.counter = new ConflictCounter(this.n);
+    }
+
+    /** 
+     * Builds a random state with its conflict counters
+     * @return State the new state
+     */
+    @Benchmark
+    public State construct() {
+        return new State(this.n);
+    }
+
+    /** 
+     * Scores the state by checking every pair of queens
+     * @return long the h(n)
+     */
+    @Benchmark
+    public long pairwise() {
+        this.state.setHValue(0);
+        for(int i = 0; i < this.n; i++) {
+            this.state.checkDiagonalConflicts(i);
+            this.state.checkHorizontalConflicts(i);
+        }
+        return this.state.getHValue();
+    }
+
+    /** 
+     * Counts the attacking pairs of the board with the line histograms of a ConflictCounter
+     * @return long the attacking pairs
+     */
+    @Benchmark
+    public long conflictCounter() {
+        return this.counter.count(this.state.getQueensLocation());
+    }
+
+    /** 
+     * Rebuilds the conflict counters and h(n) of the state
+     * @return long the h(n)
+     */
+    @Benchmark
+    public long countConflicts() {
+        this.state.countConflicts();
+        return this.state.getHValue();
+    }
+
+    /** 
+     * Scores a single move with the conflict counters
+     * @return long the h(n) after the move
+     */
+    @Benchmark
+    public long evaluateMove() {
+        return this.state.evaluateMove(this.n / 2, (this.state.getQueensLocation()[this.n / 2] + 1) % this.n);
+    }
+}
@@ -0,0 +1,478 @@
+package nqueens.cli;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGeneratorFactory;
+
+import nqueens.ConstructiveSearch;
+import nqueens.CoolingSchedule;
+import nqueens.HillClimbSearch;
+import nqueens.HillClimbSearchRandomRestart;
+import nqueens.HillClimbSearchRandomRestartSideways;
+import nqueens.HillClimbSearchSideways;
+import nqueens.MinConflictsSearch;
+import nqueens.PortfolioSolver;
+import nqueens.SearchBudget;
+import nqueens.SimulatedAnnealingSearch;
+import nqueens.TabuSearch;
+
+/**
+ * This class parses the command line options of the Driver so the searches
+ * can be run from scripts without any prompts. It also creates the searches
+ * with the chosen settings
+ * @author James Wooten
+ * @version 1.0
+ */
+public class CommandLine {
+
+    static final int DEFAULT_SIMULATIONS = 1000;
+    static final List<String> FORMATS = Arrays.asList("text", "json", "csv");
+    static final List<String> ALGORITHMS = Arrays.asList(
+            "hc", "sideways", "restart", "restart-sideways", "min-conflicts", "tabu", "annealing", "constructive");
+    static final List<String> SCHEDULES = Arrays.asList("linear", "geometric", "adaptive");
+
+    private List<Integer> nValues = new ArrayList<>();
+    private int numSimulations = DEFAULT_SIMULATIONS;
+    private List<String> algorithms = ALGORITHMS;
+    private Integer plateauLimit = null;
+    private Integer tenure = null;
+    private String schedule = null;
+    private Long seed = null;
+    private String rngAlgorithm = null;
+    private int threads = 1;
+    private String format = "text";
+    private String outputFile = null;
+    private String traceFile = null;
+    private Integer maxRestarts = null;
+    private Long timeoutMillis = null;
+    private String renderFile = null;
+    private boolean portfolio = false;
+    private String solutionsFile = null;
+    private boolean count = false;
+    private boolean help = false;
+
+    /** 
+     * Parses the command line arguments
+     * @param args the arguments passed to main
+     * @return CommandLine the parsed options
+     * @throws IllegalArgumentException if an option is unknown or has a bad value
+     */
+    public static CommandLine parse(String[] args) {
+        CommandLine options = new CommandLine();
+
+        for(int i = 0; i < args.length; i++) {
+            String arg = args[i];
+
+            if(arg.equals("-h") || arg.equals("--help")) {
+                options.help = true;
+                continue;
+            }
+
+            if(arg.equals("--portfolio")) {
+                options.portfolio = true;
+                continue;
+            }
+
+            if(arg.equals("--count")) {
+                options.count = true;
+                continue;
+            }
+
+            if(i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            String value = args[++i];
+
+            switch(arg) {
+                case "-n":
+                    options.nValues.addAll(parseRange(value));
+                    break;
+                case "-s":
+                case "--simulations":
+                    options.numSimulations = parsePositive(arg, value);
+                    break;
+                case "-a":
+                case "--algorithms":
+                    options.algorithms = parseAlgorithms(value);
+                    break;
+                case "-p":
+                case "--plateau":
+                    options.plateauLimit = parsePositive(arg, value);
+                    break;
+                case "--tenure":
+                    options.tenure = parsePositive(arg, value);
+                    break;
+                case "--schedule":
+                    if(!SCHEDULES.contains(value)) {
+                        throw new IllegalArgumentException("Unknown cooling schedule: " + value);
+                    }
+                    options.schedule = value;
+                    break;
+                case "--seed":
+                    options.seed = parseLong(arg, value);
+                    break;
+                case "--rng":
+                    options.rngAlgorithm = parseRandomAlgorithm(value);
+                    break;
+                case "-t":
+                case "--threads":
+                    options.threads = parsePositive(arg, value);
+                    break;
+                case "-o":
+                case "--output":
+                    if(!FORMATS.contains(value)) {
+                        throw new IllegalArgumentException("Unknown output format " + value);
+                    }
+                    options.format = value;
+                    break;
+                case "--output-file":
+                    options.outputFile = value;
+                    break;
+                case "--max-restarts":
+                    options.maxRestarts = parsePositive(arg, value);
+                    break;
+                case "--timeout":
+                    options.timeoutMillis = (long) parsePositive(arg, value);
+                    break;
+                case "--trace":
+                    options.traceFile = value;
+                    break;
+                case "--render-trace":
+                    options.renderFile = value;
+                    break;
+                case "--solutions":
+                    options.solutionsFile = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        if(!options.help && options.renderFile == null && options.nValues.isEmpty()) {
+            throw new IllegalArgumentException("Missing -n");
+        }
+
+        return options;
+    }
+
+    /** 
+     * Builds the usage text
+     * @return String the usage text
+     */
+    public static String usage() {
+        return "Usage: nqueens -n <N> [options]\n"
+                + "  -n <N>                   board size, a range like 8-64 or 8-64:8, or a list like 8,16,32\n"
+                + "  -s, --simulations <num>  simulations per search (default " + DEFAULT_SIMULATIONS + ")\n"
+                + "  -a, --algorithms <list>  searches to run, any of " + String.join(",", ALGORITHMS) + " (default all)\n"
+                + "  -p, --plateau <num>      sideways moves allowed on a plateau (default 100)\n"
+                + "      --tenure <num>       steps a tabu search queen may not return to the square it left (default 10)\n"
+                + "      --schedule <name>    annealing cooling schedule, any of " + String.join(",", SCHEDULES) + " (default adaptive)\n"
+                + "      --seed <num>         RNG seed for repeatable runs\n"
+                + "      --rng <name>         RNG algorithm, e.g. SplittableRandom (default), L64X128MixRandom, Xoshiro256PlusPlus\n"
+                + "  -t, --threads <num>      worker threads for the simulations (default 1)\n"
+                + "      --max-restarts <num> random restarts allowed per simulation, needed for N with no solution\n"
+                + "      --timeout <ms>       wall time allowed for each search, unfinished rounds count as failures\n"
+                + "  -o, --output <format>    text (default), or json/csv per-trial metrics\n"
+                + "      --output-file <path> write the json/csv metrics to a file instead of stdout\n"
+                + "      --trace <path>       write the search paths to a trace file in the background instead of printing boards\n"
+                + "      --render-trace <path> print the boards of a trace file and exit\n"
+                + "      --count              count every solution of each N by backtracking (N up to 63) and exit\n"
+                + "      --portfolio          race the searches on max(threads, searches) threads and keep the first solution\n"
+                + "      --solutions <path>   portfolio: reuse the solved boards in this file and save new ones to it\n"
+                + "  -h, --help               print this message";
+    }
+
+    /** 
+     * Parses a board size, range or list of them
+     * @param value the option value
+     * @return List the board sizes
+     */
+    private static List<Integer> parseRange(String value) {
+        List<Integer> values = new ArrayList<>();
+
+        for(String part : value.split(",")) {
+            int step = 1;
+            String range = part;
+
+            if(part.contains(":")) {
+                step = parsePositive("-n", part.substring(part.indexOf(':') + 1));
+                range = part.substring(0, part.indexOf(':'));
+            }
+
+            int dash = range.indexOf('-');
+            int from = parsePositive("-n", dash == -1 ? range : range.substring(0, dash));
+            int to = dash == -1 ? from : parsePositive("-n", range.substring(dash + 1));
+
+            if(to < from) {
+                throw new IllegalArgumentException("Empty range for -n: " + part);
+            }
+
+            for(int n = from; n <= to; n += step) {
+                values.add(n);
+            }
+        }
+
+        return values;
+    }
+
+    /** 
+     * Parses a comma separated list of search names
+     * @param value the option value
+     * @return List the search names
+     */
+    private static List<String> parseAlgorithms(String value) {
+        List<String> names = new ArrayList<>();
+
+        for(String name : value.split(",")) {
+            if(!ALGORITHMS.contains(name)) {
+                throw new IllegalArgumentException("Unknown algorithm " + name);
+            }
+            names.add(name);
+        }
+
+        return names;
+    }
+
+    /** 
+     * Checks that an RNG algorithm is known to java.util.random
+     * @param value the option value
+     * @return String the algorithm name
+     */
+    private static String parseRandomAlgorithm(String value) {
+        try {
+            RandomGeneratorFactory.of(value);
+            return value;
+        } catch(IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown RNG algorithm " + value);
+        }
+    }
+
+    /** 
+     * Parses a positive int option value
+     * @param option the option name, for the error message
+     * @param value the option value
+     * @return int the parsed value
+     */
+    private static int parsePositive(String option, String value) {
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if(parsed > 0) {
+                return parsed;
+            }
+        } catch(NumberFormatException e) {
+            //Falls through to the error below
+        }
+        throw new IllegalArgumentException(option + " must be a positive integer: " + value);
+    }
+
+    /** 
+     * Parses a long option value
+     * @param option the option name, for the error message
+     * @param value the option value
+     * @return long the parsed value
+     */
+    private static long parseLong(String option, String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch(NumberFormatException e) {
+            throw new IllegalArgumentException(option + " must be an integer: " + value);
+        }
+    }
+
+    /** 
+     * Creates a search with the chosen settings
+     * @param algorithm the name of the search
+     * @return HillClimbSearch the new search
+     */
+    public HillClimbSearch createSearch(String algorithm) {
+        HillClimbSearch search;
+
+        switch(algorithm) {
+            case "sideways":
+                search = new HillClimbSearchSideways(this.numSimulations);
+                break;
+            case "restart":
+                search = new HillClimbSearchRandomRestart(this.numSimulations);
+                break;
+            case "restart-sideways":
+                search = new HillClimbSearchRandomRestartSideways(this.numSimulations);
+                break;
+            case "min-conflicts":
+                search = new MinConflictsSearch(this.numSimulations);
+                break;
+            case "tabu":
+                search = new TabuSearch(this.numSimulations);
+                break;
+            case "annealing":
+                search = new SimulatedAnnealingSearch(this.numSimulations);
+                break;
+            case "constructive":
+                search = new ConstructiveSearch(this.numSimulations);
+                break;
+            default:
+                search = new HillClimbSearch(this.numSimulations);
+        }
+
+        if(this.plateauLimit != null && search instanceof HillClimbSearchSideways) {
+            ((HillClimbSearchSideways) search).setPlateauLimit(this.plateauLimit);
+        }
+
+        if(this.tenure != null && search instanceof TabuSearch) {
+            ((TabuSearch) search).setTenure(this.tenure);
+        }
+
+        if(this.schedule != null && search instanceof SimulatedAnnealingSearch) {
+            ((SimulatedAnnealingSearch) search).setSchedule(CoolingSchedule.of(this.schedule));
+        }
+
+        if(this.rngAlgorithm != null) {
+            search.setRandomAlgorithm(this.rngAlgorithm);
+        }
+
+        if(this.seed != null) {
+            search.setSeed(this.seed);
+        }
+
+        search.setBudget(this.createBudget());
+
+        //Metrics are exported at the end instead of printed
+        if(!this.format.equals("text")) {
+            search.setPrintOutput(false);
+        }
+
+        return search;
+    }
+
+    /** 
+     * Creates the budget of the restart limit and timeout, with the timeout starting now
+     * @return SearchBudget the budget, or null if neither was set
+     */
+    public SearchBudget createBudget() {
+        if(this.maxRestarts == null && this.timeoutMillis == null) {
+            return null;
+        }
+
+        SearchBudget budget = new SearchBudget();
+        if(this.maxRestarts != null) {
+            budget.setMaxRestarts(this.maxRestarts);
+        }
+        if(this.timeoutMillis != null) {
+            budget.setTimeout(this.timeoutMillis);
+        }
+        return budget;
+    }
+
+    /** 
+     * Creates a portfolio of the chosen searches, cycling through them until there is one
+     * per thread. With a seed, every entry gets the next seed so no two are the same
+     * @return PortfolioSolver the portfolio
+     */
+    public PortfolioSolver createPortfolio() {
+        PortfolioSolver solver = new PortfolioSolver();
+        int size = Math.max(this.threads, this.algorithms.size());
+
+        for(int i = 0; i < size; i++) {
+            String algorithm = this.algorithms.get(i % this.algorithms.size());
+            int entry = i;
+
+            solver.add(() -> {
+                HillClimbSearch search = this.createSearch(algorithm);
+                if(this.seed != null) {
+                    search.setSeed(this.seed + entry);
+                }
+                return search;
+            });
+        }
+
+        return solver;
+    }
+
+    /** 
+     * Getter for the board sizes
+     * @return List the board sizes to run
+     */
+    public List<Integer> getNValues() {
+        return nValues;
+    }
+
+    /** 
+     * Getter for the searches
+     * @return List the names of the searches to run
+     */
+    public List<String> getAlgorithms() {
+        return algorithms;
+    }
+
+    /** 
+     * Getter for the thread count
+     * @return int the number of worker threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /** 
+     * Getter for the output format
+     * @return String text, json or csv
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /** 
+     * Getter for the output file
+     * @return String the path to write the metrics to, null for stdout
+     */
+    public String getOutputFile() {
+        return outputFile;
+    }
+
+    /** 
+     * Getter for the trace file
+     * @return String the path to trace the search paths to, null to print them
+     */
+    public String getTraceFile() {
+        return traceFile;
+    }
+
+    /** 
+     * Getter for the trace file to render
+     * @return String the trace file to print the boards of, null to run the searches
+     */
+    public String getRenderFile() {
+        return renderFile;
+    }
+
+    /** 
+     * Getter for the help flag
+     * @return boolean if the usage was asked for
+     */
+    public boolean isHelp() {
+        return help;
+    }
+
+    /** 
+     * Getter for the portfolio flag
+     * @return boolean if the searches should race instead of running one after another
+     */
+    public boolean isPortfolio() {
+        return portfolio;
+    }
+
+    /** 
+     * Getter for the solutions file
+     * @return String the solution file the portfolio starts warm from and saves to, null for none
+     */
+    public String getSolutionsFile() {
+        return solutionsFile;
+    }
+
+    /** 
+     * Getter for the count flag
+     * @return boolean if the solutions should be counted instead of searched for
+     */
+    public boolean isCount() {
+        return count;
+    }
+}
@@ -0,0 +1,265 @@
+package nqueens.cli;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+
+import nqueens.BacktrackingSolver;
+import nqueens.HillClimbSearch;
+import nqueens.PortfolioSolver;
+import nqueens.SearchMetrics;
+import nqueens.SolutionCache;
+import nqueens.SolutionFile;
+import nqueens.SolveResult;
+import nqueens.State;
+import nqueens.TraceSink;
+
+/**
+ * This Class acts as the driver for the N-Queen Puzzle.
+ * A random NxN game board is generated based on the user input
+ * and the search will attempt to find the n queen placements where
+ * no two queens conflict vertically, horizontally, or diagonally.
+ * It reads the settings from the command line, or asks for N when
+ * there are no arguments, and uses that to set up and 
+ * run each of the different searches
+ * @author James Wooten
+ * @version 1.0
+ */
+public class Driver {
+
+    static final long CACHE_QUEENS = 1 << 20; //Most queens kept by the --solutions cache
+    static final int CACHE_PER_N = 64; //Most symmetry classes kept per N by the --solutions cache
+
+    static int n;
+
+    public static void main(String[] args) throws Exception {
+
+        CommandLine options;
+
+        try {
+            //With no arguments ask for N, otherwise run without any prompts
+            if(args.length == 0) {
+                getUserN();
+                options = CommandLine.parse(new String[] {"-n", String.valueOf(n)});
+            } else {
+                options = CommandLine.parse(args);
+            }
+        } catch(IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(CommandLine.usage());
+            System.exit(2);
+            return;
+        }
+
+        if(options.isHelp()) {
+            System.out.println(CommandLine.usage());
+            return;
+        }
+
+        if(options.getRenderFile() != null) {
+            TraceSink.render(Paths.get(options.getRenderFile()), System.out);
+            return;
+        }
+
+        if(options.isCount()) {
+            for(int n : options.getNValues()) {
+                long start = System.nanoTime();
+                long solutions = BacktrackingSolver.count(n);
+                System.out.println("N = " + n + ": " + solutions + " solutions (" + (System.nanoTime() - start) / 1e6 + " ms)");
+            }
+            return;
+        }
+
+        if(options.isPortfolio()) {
+            runPortfolio(options);
+            return;
+        }
+
+        List<SearchMetrics> results = new ArrayList<>();
+        boolean text = options.getFormat().equals("text");
+        TraceSink trace = options.getTraceFile() == null ? null : new TraceSink(Paths.get(options.getTraceFile()));
+
+        for(int n : options.getNValues()) {
+
+            if(text && options.getNValues().size() > 1) {
+                System.out.println();
+                System.out.println("=====N = " + n + "=====");
+            }
+
+            //Create and run each chosen search
+            for(String algorithm : options.getAlgorithms()) {
+                HillClimbSearch search = options.createSearch(algorithm);
+                search.setTraceSink(trace);
+
+                if(options.getThreads() > 1) {
+                    search.runParallel(n, options.getThreads());
+                } else {
+                    search.run(n);
+                }
+
+                results.add(search.getMetrics());
+            }
+        }
+
+        if(trace != null) {
+            trace.close();
+            if(trace.getDropped() > 0) {
+                System.err.println("Trace dropped " + trace.getDropped() + " events");
+            }
+        }
+
+        if(!text) {
+            writeMetrics(results, options);
+        }
+    }
+
+    /**
+     * This method races the chosen searches on each N and reports the first solution.
+     * Text output prints the winner and its board, json and csv output one record per N.
+     * With a solutions file, an N already in it is answered from the file without a search
+     * and the file is rewritten with every solved board at the end
+     * @param options the parsed command line options
+     * @throws java.io.IOException if the output or solutions file cannot be read or written
+     */
+    private static void runPortfolio(CommandLine options) throws java.io.IOException {
+
+        PortfolioSolver portfolio = options.createPortfolio();
+        SolutionCache cache = null;
+        Path solutions = options.getSolutionsFile() == null ? null : Paths.get(options.getSolutionsFile());
+        SplittableRandom rng = new SplittableRandom();
+
+        if(solutions != null) {
+            cache = new SolutionCache(CACHE_QUEENS, CACHE_PER_N);
+            if(Files.exists(solutions)) {
+                cache.load(SolutionFile.open(solutions));
+            }
+        }
+        boolean text = options.getFormat().equals("text");
+        boolean json = options.getFormat().equals("json");
+        StringBuilder out = new StringBuilder(json ? "[\n" : "n,search,outcome,h,steps,restarts,wall_ns\n");
+
+        List<Integer> nValues = options.getNValues();
+
+        for(int i = 0; i < nValues.size(); i++) {
+            int n = nValues.get(i);
+            long start = System.nanoTime();
+            State cached = cache == null ? null : cache.get(n, rng);
+            SolveResult result;
+
+            if(cached != null) {
+                result = new SolveResult(cached, 0, 0, System.nanoTime() - start, SolveResult.Outcome.SOLVED, "SolutionCache");
+            } else {
+                result = portfolio.solve(n, options.createBudget());
+                if(cache != null) {
+                    cache.put(result.getBest());
+                }
+            }
+
+            if(text) {
+                System.out.println();
+                System.out.println("-----PORTFOLIO N = " + n + " (" + portfolio.size() + " searches)-----");
+                System.out.println("Winner: " + result.getSearch());
+                System.out.println("Outcome: " + result.getOutcome());
+                System.out.println("h(n): " + result.getHValue());
+                System.out.println("Steps: " + result.getSteps() + ", Restarts: " + result.getRestarts());
+                System.out.println("Time (ms): " + result.getWallNanos() / 1e6);
+                result.getBest().printBoard();
+            } else if(json) {
+                out.append("{\"n\":").append(n)
+                        .append(",\"search\":\"").append(result.getSearch())
+                        .append("\",\"outcome\":\"").append(result.getOutcome())
+                        .append("\",\"h\":").append(result.getHValue())
+                        .append(",\"steps\":").append(result.getSteps())
+                        .append(",\"restarts\":").append(result.getRestarts())
+                        .append(",\"wallNanos\":").append(result.getWallNanos())
+                        .append(",\"queens\":").append(Arrays.toString(result.getBest().getQueensLocation()).replace(" ", ""))
+                        .append(i < nValues.size() - 1 ? "},\n" : "}\n");
+            } else {
+                out.append(n).append(',').append(result.getSearch())
+                        .append(',').append(result.getOutcome())
+                        .append(',').append(result.getHValue())
+                        .append(',').append(result.getSteps())
+                        .append(',').append(result.getRestarts())
+                        .append(',').append(result.getWallNanos()).append('\n');
+            }
+        }
+
+        portfolio.shutdown();
+
+        if(cache != null) {
+            cache.save(solutions);
+        }
+
+        if(!text) {
+            if(json) {
+                out.append("]\n");
+            }
+            if(options.getOutputFile() != null) {
+                Files.writeString(Paths.get(options.getOutputFile()), out);
+            } else {
+                System.out.print(out);
+            }
+        }
+    }
+
+    /**
+     * This method exports the metrics of every search as JSON or CSV,
+     * to the output file if one was given or else to stdout
+     * @param results the metrics of each search run
+     * @param options the parsed command line options
+     * @throws java.io.IOException if the output file cannot be written
+     */
+    private static void writeMetrics(List<SearchMetrics> results, CommandLine options) throws java.io.IOException {
+
+        StringBuilder out = new StringBuilder();
+
+        if(options.getFormat().equals("json")) {
+            out.append("[\n");
+            for(int i = 0; i < results.size(); i++) {
+                out.append(results.get(i).toJson()).append(i < results.size() - 1 ? ",\n" : "\n");
+            }
+            out.append("]\n");
+        } else {
+            out.append(SearchMetrics.csvHeader()).append('\n');
+            for(SearchMetrics metrics : results) {
+                out.append(metrics.toCsv());
+            }
+        }
+
+        if(options.getOutputFile() != null) {
+            Files.writeString(Paths.get(options.getOutputFile()), out);
+        } else {
+            System.out.print(out);
+        }
+    }
+
+    /**
+     * This method gets the user input and saves the int as the N for 
+     * the searches
+     */
+    private static void getUserN() {
+
+        boolean validInput = false;
+
+        Scanner input = new Scanner(System.in);
+
+        do {
+
+            System.out.println("Please enter the N value for the N-Queens problem");
+
+            if(input.hasNextInt() == false) {
+                System.out.println("Must be an integer.");
+                input.next();
+            } else {
+                n = input.nextInt();
+                validInput = true;
+            }
+            
+        } while (validInput == false);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package nqueens;
+
+import java.util.function.Consumer;
+
+/**
+ * This class counts or lists every solution of a board by backtracking over
+ * long bitmasks of the used rows and diagonals, one column at a time. The depth
+ * first search keeps its stack in arrays made once per call, so no node of the
+ * search allocates. Only half of the rows are tried for the first column: every
+ * solution found there has a mirror image (rows flipped top to bottom) with the
+ * first queen in the other half, which is counted or emitted along with it. For
+ * odd n the first queen in the middle row is tried with the second queen in the
+ * top half only, for the same reason. Solutions are streamed to a callback as
+ * they are found, so an enumeration never holds them all in memory
+ * @author James Wooten
+ * @version 1.0
+ */
+public class BacktrackingSolver {
+
+    public static final int MAX_N = 63; //Largest board that fits the long masks
+
+    /**
+     * This interface receives the solutions of an enumeration
+     */
+    public interface SolutionCallback {
+
+        /**
+         * Takes a solution. The array is reused for the next solution, so it has to
+         * be copied to be kept
+         * @param queens the row of the queen in each column
+         * @return boolean true to keep going, false to stop the enumeration
+         */
+        boolean onSolution(int[] queens);
+    }
+
+    private final int n;
+    private final long all; //Mask of every row
+    private final int[] queens; //Row of the queen in each column of the current branch
+    private final int[] mirror; //Buffer for the mirror image of a solution
+    private final long[] rows; //Used rows before each column
+    private final long[] diags; //Attacked squares of the rising diagonals before each column
+    private final long[] antiDiags; //Attacked squares of the falling diagonals before each column
+    private final long[] open; //Rows left to try in each column
+    private SolutionCallback callback;
+    private long found;
+    private boolean stopped;
+
+    /**
+     * Constructor that takes the board size
+     * @param n the number of queens and NxN board
+     * @throws IllegalArgumentException if n is less than 1 or more than MAX_N
+     */
+    private BacktrackingSolver(int n) {
+        if(n < 1 || n > MAX_N) {
+            throw new IllegalArgumentException("n must be between 1 and " + MAX_N + ": " + n);
+        }
+
+        this.n = n;
+        this.all = (1L << n) - 1;
+        this.queens = new int[n];
+        this.mirror = new int[n];
+        this.rows = new long[n];
+        this.diags = new long[n];
+        this.antiDiags = new long[n];
+        this.open = new long[n];
+    }
+
+    /**
+     * Counts every solution of a board
+     * @param n the number of queens and NxN board
+     * @return long the number of solutions
+     * @throws IllegalArgumentException if n is less than 1 or more than MAX_N
+     */
+    public static long count(int n) {
+        return new BacktrackingSolver(n).search(null);
+    }
+
+    /**
+     * Streams every solution of a board to a callback until it asks to stop
+     * @param n the number of queens and NxN board
+     * @param callback takes each solution, its array is reused
+     * @return long the number of solutions passed to the callback
+     * @throws IllegalArgumentException if n is less than 1 or more than MAX_N
+     */
+    public static long enumerate(int n, SolutionCallback callback) {
+        return new BacktrackingSolver(n).search(callback);
+    }
+
+    /**
+     * Streams every solution of a board to a consumer as a new State
+     * @param n the number of queens and NxN board
+     * @param consumer takes each solved state
+     * @return long the number of solutions
+     * @throws IllegalArgumentException if n is less than 1 or more than MAX_N
+     */
+    public static long enumerateStates(int n, Consumer<State> consumer) {
+        return enumerate(n, queens -> {
+            consumer.accept(new State(queens.clone()));
+            return true;
+        });
+    }
+
+    /**
+     * Runs the search over the top half of the first column, then the middle row for odd n
+     * @param callback takes each solution, or null to only count them
+     * @return long the number of solutions
+     */
+    private long search(SolutionCallback callback) {
+        this.callback = callback;
+        this.found = 0;
+        this.stopped = false;
+
+        if(this.n == 1) {
+            this.queens[0] = 0;
+            this.emit(false);
+            return this.found;
+        }
+
+        int half = this.n / 2;
+        long topHalf = (1L << half) - 1;
+
+        this.backtrack(topHalf, -1L);
+
+        if(this.n % 2 == 1 && !this.stopped) {
+            this.backtrack(1L << half, topHalf);
+        }
+
+        return this.found;
+    }
+
+    /**
+     * Depth first search over the columns with an explicit stack
+     * @param first the rows to try in the first column
+     * @param second the rows allowed in the second column
+     */
+    private void backtrack(long first, long second) {
+        int last = this.n - 1;
+        int depth = 0;
+
+        this.rows[0] = 0;
+        this.diags[0] = 0;
+        this.antiDiags[0] = 0;
+        this.open[0] = first;
+
+        while(depth >= 0 && !this.stopped) {
+            long options = this.open[depth];
+
+            //No rows left in this column, go back to the previous one
+            if(options == 0) {
+                depth--;
+                continue;
+            }
+
+            long bit = options & -options;
+            this.open[depth] = options ^ bit;
+            this.queens[depth] = Long.numberOfTrailingZeros(bit);
+
+            if(depth == last) {
+                this.emit(true);
+                continue;
+            }
+
+            //Shift the diagonals one column over and find the free rows of the next column
+            int next = depth + 1;
+            this.rows[next] = this.rows[depth] | bit;
+            this.diags[next] = ((this.diags[depth] | bit) << 1) & this.all;
+            this.antiDiags[next] = (this.antiDiags[depth] | bit) >>> 1;
+            this.open[next] = this.all & ~(this.rows[next] | this.diags[next] | this.antiDiags[next]);
+
+            if(next == 1) {
+                this.open[next] &= second;
+            }
+            depth = next;
+        }
+    }
+
+    /**
+     * Counts a solution and passes it to the callback, with its mirror image if asked
+     * @param withMirror true to also count and pass the mirror image
+     */
+    private void emit(boolean withMirror) {
+        this.found += withMirror ? 2 : 1;
+
+        if(this.callback == null) {
+            return;
+        }
+
+        if(withMirror) {
+            for(int i = 0; i < this.n; i++) {
+                this.mirror[i] = this.n - 1 - this.queens[i];
+            }
+        }
+
+        if(!this.callback.onSolution(this.queens)) {
+            this.stopped = true;
+            this.found -= withMirror ? 1 : 0;
+            return;
+        }
+
+        if(withMirror && !this.callback.onSolution(this.mirror)) {
+            this.stopped = true;
+        }
+    }
+}
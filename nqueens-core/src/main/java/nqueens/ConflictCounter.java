@@ -0,0 +1,197 @@
+package nqueens;
+
+import java.util.Arrays;
+
+/**
+ * This class counts the attacking pairs of a board in O(n) from queen counts per
+ * row, diagonal and anti-diagonal, without building a State or an NxN matrix.
+ * Each pair is counted once: a queen added to a line makes a pair with every
+ * queen already on it. The counts are kept in one array of 5n - 2 shorts when
+ * n fits in a short and ints otherwise, and are reused by every board of the
+ * same n, so checking million-queen boards takes milliseconds and no allocation.
+ * When the jdk.incubator.vector module is loaded (java --add-modules
+ * jdk.incubator.vector) full counts take the SIMD path of VectorConflicts,
+ * otherwise the scalar loop. A counter is not thread safe, use one per thread
+ * @author James Wooten
+ * @version 1.0
+ */
+public class ConflictCounter {
+
+    static final int MAX_SHORT_N = Short.MAX_VALUE; //Largest n whose line counts fit in a short
+    public static final boolean VECTOR_AVAILABLE = vectorAvailable(); //If the Vector API can be used
+
+    private final int n;
+    private final int diagOffset; //Index of the first diagonal count
+    private final int antiDiagOffset; //Index of the first anti-diagonal count
+    private final short[] shortCounts; //Line counts when n fits in a short, else null
+    private final int[] intCounts; //Line counts for larger n, else null
+    private final int[] diagBuffer; //Diagonal indices of the vector path, else null
+    private final int[] antiDiagBuffer; //Anti-diagonal indices of the vector path, else null
+
+    /**
+     * Constructor that takes the board size, using the vector path if it is available
+     * @param n the number of queens and NxN board
+     * @throws IllegalArgumentException if n is less than 1
+     */
+    public ConflictCounter(int n) {
+        this(n, true);
+    }
+
+    /**
+     * Constructor that takes the board size and if the vector path should be used
+     * @param n the number of queens and NxN board
+     * @param vectorized true to use the vector path if it is available, false for the scalar loop
+     * @throws IllegalArgumentException if n is less than 1
+     */
+    public ConflictCounter(int n, boolean vectorized) {
+        if(n < 1) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+
+        this.n = n;
+        this.diagOffset = n;
+        this.antiDiagOffset = 3 * n - 1;
+
+        //n rows, 2n - 1 diagonals and 2n - 1 anti-diagonals
+        int lines = 5 * n - 2;
+        this.shortCounts = n <= MAX_SHORT_N ? new short[lines] : null;
+        this.intCounts = n <= MAX_SHORT_N ? null : new int[lines];
+
+        boolean vector = vectorized && VECTOR_AVAILABLE;
+        this.diagBuffer = vector ? new int[VectorConflicts.CHUNK] : null;
+        this.antiDiagBuffer = vector ? new int[VectorConflicts.CHUNK] : null;
+    }
+
+    /**
+     * Checks if the Vector API module is loaded and works on this machine. The
+     * module is checked first so VectorConflicts is never loaded without it
+     * @return boolean if the vector path can be used
+     */
+    private static boolean vectorAvailable() {
+        if(ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+
+        try {
+            return VectorConflicts.INTS.length() > 1;
+        } catch(LinkageError | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Getter for the vector path
+     * @return boolean if full counts use the Vector API
+     */
+    public boolean isVectorized() {
+        return this.diagBuffer != null;
+    }
+
+    /**
+     * Counts the attacking pairs of a board with a new counter
+     * @param queens the row of the queen in each column
+     * @return long the number of attacking pairs
+     * @throws IllegalArgumentException if the board is not n columns of rows 0 to n - 1
+     */
+    public static long pairs(int[] queens) {
+        return new ConflictCounter(queens.length).count(queens);
+    }
+
+    /**
+     * Checks that the h(n) of a state matches an exact recount of its board
+     * @param state the state to check
+     * @return boolean if the h(n) is right
+     */
+    public static boolean validate(State state) {
+        return pairs(state.getQueensLocation()) == state.getHValue();
+    }
+
+    /**
+     * Counts the attacking pairs of a board, each pair once
+     * @param queens the row of the queen in each column
+     * @return long the number of attacking pairs
+     * @throws IllegalArgumentException if the board is not n columns of rows 0 to n - 1
+     */
+    public long count(int[] queens) {
+        if(this.diagBuffer != null && queens.length == this.n) {
+            long pairs;
+
+            try {
+                pairs = this.shortCounts != null
+                        ? VectorConflicts.count(queens, this.shortCounts, this.diagBuffer, this.antiDiagBuffer)
+                        : VectorConflicts.count(queens, this.intCounts, this.diagBuffer, this.antiDiagBuffer);
+            } finally {
+                this.clear();
+            }
+
+            //A row off the board is reported by the scalar loop
+            if(pairs >= 0) {
+                return pairs;
+            }
+        }
+        return this.scan(queens, false);
+    }
+
+    /**
+     * Checks if a board is solved, stopping at the first attacking pair
+     * @param queens the row of the queen in each column
+     * @return boolean if no two queens attack each other
+     * @throws IllegalArgumentException if the board is not n columns of rows 0 to n - 1
+     */
+    public boolean isSolution(int[] queens) {
+        return this.scan(queens, true) == 0;
+    }
+
+    /**
+     * Adds every queen to the line counts, counting the pairs it makes with the
+     * queens already there, then clears the counts for the next board
+     * @param queens the row of the queen in each column
+     * @param stopAtFirst true to stop at the first pair
+     * @return long the number of attacking pairs, or 1 if stopped at the first
+     */
+    private long scan(int[] queens, boolean stopAtFirst) {
+        if(queens.length != this.n) {
+            throw new IllegalArgumentException("Expected " + this.n + " columns: " + queens.length);
+        }
+
+        long pairs = 0;
+
+        try {
+            for(int column = 0; column < this.n; column++) {
+                int row = queens[column];
+
+                if(row < 0 || row >= this.n) {
+                    throw new IllegalArgumentException("Row " + row + " of column " + column + " is off the board");
+                }
+
+                int diag = this.diagOffset + row - column + this.n - 1;
+                int antiDiag = this.antiDiagOffset + row + column;
+
+                if(this.shortCounts != null) {
+                    pairs += this.shortCounts[row]++ + this.shortCounts[diag]++ + this.shortCounts[antiDiag]++;
+                } else {
+                    pairs += (long) this.intCounts[row]++ + this.intCounts[diag]++ + this.intCounts[antiDiag]++;
+                }
+
+                if(stopAtFirst && pairs > 0) {
+                    return 1;
+                }
+            }
+        } finally {
+            this.clear();
+        }
+
+        return pairs;
+    }
+
+    /**
+     * Zeroes the line counts for the next board
+     */
+    private void clear() {
+        if(this.shortCounts != null) {
+            Arrays.fill(this.shortCounts, (short) 0);
+        } else {
+            Arrays.fill(this.intCounts, 0);
+        }
+    }
+}
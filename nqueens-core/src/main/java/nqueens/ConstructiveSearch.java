@@ -0,0 +1,62 @@
+package nqueens;
+
+/**
+ * This class is the fast path for when any solved board will do. Every round
+ * starts from the board built by ExplicitSolution, so it is solved in O(n)
+ * with no steps. For n = 2 and 3, where no board exists, a round starts from a
+ * random board and fails. It is an extension of the HillClimbSearch Class and
+ * reports through the same stats
+ * @author James Wooten
+ * @version 1.0
+ */
+public class ConstructiveSearch extends HillClimbSearch {
+
+    /**
+     * Constructor that takes in the number of simulations to run
+     * @param n the num of simulations to run
+     */
+    public ConstructiveSearch(int n) {
+        super(n);
+    }
+
+    /**
+     * Creates a fresh search of this type for a single parallel trial
+     * @return HillClimbSearch the new search
+     */
+    @Override
+    protected HillClimbSearch newTrial() {
+        return new ConstructiveSearch(1);
+    }
+
+    /**
+     * Creates the constructed board, or a random one if n has no solution
+     * @return State the starting state
+     */
+    @Override
+    protected State createInitialState() {
+        if(ExplicitSolution.exists(this.n)) {
+            return ExplicitSolution.solve(this.n);
+        }
+        return super.createInitialState();
+    }
+
+    /**
+     * Records the round, the starting board is already solved or unsolvable
+     * @param simNum the current simulation number
+     */
+    @Override
+    protected void simRound(int simNum) {
+        traceStart(simNum);
+        printSuccessFail(simNum);
+        checkStats(0);
+    }
+
+    /**
+     * Prints out the name of the search type
+     */
+    @Override
+    public void printSearchType() {
+        System.out.println();
+        System.out.println("-----CONSTRUCTIVE SOLUTION RESULTS-----");
+    }
+}
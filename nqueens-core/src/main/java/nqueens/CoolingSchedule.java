@@ -0,0 +1,191 @@
+package nqueens;
+
+/**
+ * This class is the temperature schedule of simulated annealing. The temperature
+ * is lowered once per sweep (n sampled moves) and the schedule is frozen when it
+ * gets too cold to accept a worse move, which is when the search restarts and the
+ * schedule is reset. The schedules are linear, geometric and adaptive, where the
+ * adaptive one cools quickly while many worse moves are accepted and slowly once
+ * few are. A schedule keeps the temperature of one search, so every parallel
+ * trial gets its own copy
+ * @author James Wooten
+ * @version 1.0
+ */
+public abstract class CoolingSchedule {
+
+    static final double DEFAULT_START = 0.5; //Starting temperature, a worse move costs at least 1
+    static final double DEFAULT_MIN = 0.025; //Temperature at which the schedule is frozen
+
+    protected final double start;
+    protected final double min;
+    protected double temperature;
+
+    /**
+     * Constructor that takes the starting and frozen temperatures
+     * @param start the starting temperature
+     * @param min the temperature at which the schedule is frozen
+     */
+    protected CoolingSchedule(double start, double min) {
+        this.start = start;
+        this.min = min;
+        this.temperature = start;
+    }
+
+    /**
+     * Creates a schedule that lowers the temperature by the same amount every sweep
+     * @param start the starting temperature
+     * @param sweeps the number of sweeps to cool down to the frozen temperature
+     * @return CoolingSchedule the linear schedule
+     */
+    public static CoolingSchedule linear(double start, int sweeps) {
+        return new Linear(start, DEFAULT_MIN, sweeps);
+    }
+
+    /**
+     * Creates a schedule that multiplies the temperature by a factor every sweep
+     * @param start the starting temperature
+     * @param alpha the cooling factor, between 0 and 1
+     * @return CoolingSchedule the geometric schedule
+     */
+    public static CoolingSchedule geometric(double start, double alpha) {
+        return new Geometric(start, DEFAULT_MIN, alpha);
+    }
+
+    /**
+     * Creates a schedule that cools faster while the acceptance rate of worse moves
+     * is above a target and slower once it drops below it
+     * @param start the starting temperature
+     * @param target the acceptance rate of worse moves to aim for, between 0 and 1
+     * @return CoolingSchedule the adaptive schedule
+     */
+    public static CoolingSchedule adaptive(double start, double target) {
+        return new Adaptive(start, DEFAULT_MIN, target);
+    }
+
+    /**
+     * Creates a schedule by name with the default settings
+     * @param name linear, geometric or adaptive
+     * @return CoolingSchedule the schedule
+     * @throws IllegalArgumentException if the name is not known
+     */
+    public static CoolingSchedule of(String name) {
+        switch(name) {
+            case "linear":
+                return linear(DEFAULT_START, Linear.DEFAULT_SWEEPS);
+            case "geometric":
+                return geometric(DEFAULT_START, Geometric.DEFAULT_ALPHA);
+            case "adaptive":
+                return adaptive(DEFAULT_START, Adaptive.DEFAULT_TARGET);
+            default:
+                throw new IllegalArgumentException("Unknown cooling schedule: " + name);
+        }
+    }
+
+    /**
+     * Puts the temperature back to the start
+     */
+    public void reset() {
+        this.temperature = this.start;
+    }
+
+    /**
+     * Getter for the temperature
+     * @return double the current temperature
+     */
+    public double getTemperature() {
+        return temperature;
+    }
+
+    /**
+     * Checks if the schedule has cooled down to the frozen temperature
+     * @return boolean if frozen
+     */
+    public boolean isFrozen() {
+        return this.temperature <= this.min;
+    }
+
+    /**
+     * Lowers the temperature at the end of a sweep
+     * @param acceptance the fraction of worse moves accepted during the sweep
+     */
+    public abstract void cool(double acceptance);
+
+    /**
+     * Creates a reset copy of this schedule with the same settings
+     * @return CoolingSchedule the copy
+     */
+    public abstract CoolingSchedule copy();
+
+    /**
+     * This class lowers the temperature linearly
+     */
+    static class Linear extends CoolingSchedule {
+        static final int DEFAULT_SWEEPS = 100;
+        private final int sweeps;
+        private final double step;
+
+        Linear(double start, double min, int sweeps) {
+            super(start, min);
+            this.sweeps = sweeps;
+            this.step = (start - min) / sweeps;
+        }
+
+        @Override
+        public void cool(double acceptance) {
+            this.temperature -= this.step;
+        }
+
+        @Override
+        public CoolingSchedule copy() {
+            return new Linear(this.start, this.min, this.sweeps);
+        }
+    }
+
+    /**
+     * This class lowers the temperature geometrically
+     */
+    static class Geometric extends CoolingSchedule {
+        static final double DEFAULT_ALPHA = 0.95;
+        private final double alpha;
+
+        Geometric(double start, double min, double alpha) {
+            super(start, min);
+            this.alpha = alpha;
+        }
+
+        @Override
+        public void cool(double acceptance) {
+            this.temperature *= this.alpha;
+        }
+
+        @Override
+        public CoolingSchedule copy() {
+            return new Geometric(this.start, this.min, this.alpha);
+        }
+    }
+
+    /**
+     * This class picks the cooling factor of each sweep from its acceptance rate
+     */
+    static class Adaptive extends CoolingSchedule {
+        static final double DEFAULT_TARGET = 0.1;
+        static final double FAST_ALPHA = 0.8; //Cooling factor above the target acceptance
+        static final double SLOW_ALPHA = 0.98; //Cooling factor at or below the target acceptance
+        private final double target;
+
+        Adaptive(double start, double min, double target) {
+            super(start, min);
+            this.target = target;
+        }
+
+        @Override
+        public void cool(double acceptance) {
+            this.temperature *= acceptance > this.target ? FAST_ALPHA : SLOW_ALPHA;
+        }
+
+        @Override
+        public CoolingSchedule copy() {
+            return new Adaptive(this.start, this.min, this.target);
+        }
+    }
+}
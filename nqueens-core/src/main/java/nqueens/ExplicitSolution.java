@@ -0,0 +1,85 @@
+package nqueens;
+
+/**
+ * This class builds a solved board for any n other than 2 and 3 in O(n) time
+ * with no search, using the known closed-form construction. The rows of the
+ * columns are the even numbers followed by the odd numbers (counting from 1),
+ * with two fixes:
+ * if n mod 6 = 2 the odds start 3, 1 and 5 is moved to the end,
+ * if n mod 6 = 3 the 2 is moved to the end of the evens and 1, 3 to the end of the odds
+ * @author James Wooten
+ * @version 1.0
+ */
+public class ExplicitSolution {
+
+    /**
+     * Constructor is private, the class only has static methods
+     */
+    private ExplicitSolution() {
+    }
+
+    /**
+     * Checks if the construction has a board for n
+     * @param n the number of queens and NxN board
+     * @return boolean if n is 1 or at least 4
+     */
+    public static boolean exists(int n) {
+        return n == 1 || n >= 4;
+    }
+
+    /**
+     * Builds the queen locations of a solved board
+     * @param n the number of queens and NxN board
+     * @return int[] the row of the queen in each column
+     * @throws IllegalArgumentException if n is 2, 3 or less than 1
+     */
+    public static int[] queens(int n) {
+        if(!exists(n)) {
+            throw new IllegalArgumentException("No solution exists for n = " + n);
+        }
+
+        int[] queens = new int[n];
+        int i = 0;
+        int mod = n % 6;
+
+        //Even rows, 1-based, with 2 moved to the end when n mod 6 = 3
+        for(int row = mod == 3 ? 4 : 2; row <= n; row += 2) {
+            queens[i++] = row - 1;
+        }
+        if(mod == 3) {
+            queens[i++] = 2 - 1;
+        }
+
+        //Odd rows, 1-based, with the fixes for n mod 6 = 2 and 3
+        if(mod == 2) {
+            queens[i++] = 3 - 1;
+            queens[i++] = 1 - 1;
+            for(int row = 7; row <= n; row += 2) {
+                queens[i++] = row - 1;
+            }
+            queens[i++] = 5 - 1;
+        } else if(mod == 3) {
+            for(int row = 5; row <= n; row += 2) {
+                queens[i++] = row - 1;
+            }
+            queens[i++] = 1 - 1;
+            queens[i++] = 3 - 1;
+        } else {
+            for(int row = 1; row <= n; row += 2) {
+                queens[i++] = row - 1;
+            }
+        }
+
+        return queens;
+    }
+
+    /**
+     * Builds a solved board
+     * @param n the number of queens and NxN board
+     * @return State the board with h(n) = 0
+     * @throws IllegalArgumentException if n is 2, 3 or less than 1
+     */
+    public static State solve(int n) {
+        return new State(queens(n));
+    }
+}
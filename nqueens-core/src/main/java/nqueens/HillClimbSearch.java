@@ -0,0 +1,621 @@
+package nqueens;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.IntStream;
+
+/**
+ * This class represents the Hill Climbing Local Search Algorithm
+ * It takes a current state and finds the best neightboring state
+ * based on the h(n) value. It will run the simulations for the 
+ * specified number entered into the constructor.
+ * @author James Wooten
+ * @version 1.0
+ */
+public class HillClimbSearch {
+    protected State current;
+    protected int numSimulations;
+    protected int successes;
+    protected int failures;
+    protected int numStepsSuccess;
+    protected int numStepsFail;
+    protected int numRestarts;
+    protected int numSidewaysMoves;
+    protected int lastSteps; //Steps of the last finished round
+    protected int n;
+    protected boolean printTrace = true; //Whether the last rounds print their paths
+    protected boolean printSummary = true; //Whether run prints the summary stats
+    protected SearchMetrics metrics; //Per-trial results of the last run
+    protected TraceSink traceSink = null; //Takes the search paths instead of printing them when set
+    private int tracedRound = -1; //Simulation number of the round being traced, -1 if none
+    protected SearchBudget budget = null; //Limits every round when set
+    protected int roundRestarts; //Restarts at the start of the current round
+    protected State best; //Best state of the current round before a restart
+    protected int bestMoveColumn = -1; //Column of the best move found by the last scan, -1 if none
+    protected int bestMoveRow = -1; //Row of the best move found by the last scan
+    protected ParallelNeighborScan parallelScan = null; //Scans each step's moves in parallel when set
+    protected RandomGenerator rng = new SplittableRandom(); //RNG for the boards and moves of the current trial
+    protected String rngAlgorithm = "SplittableRandom"; //Name of the RNG algorithm to use
+    protected RandomGenerator rngSource = new SplittableRandom(); //Root RNG the trial RNGs are split from
+
+
+    /**
+     * This constructor passes the user desired number of
+     * simulations to run and saves to n variable
+     * 
+     * @param n the number of simulation to run 
+     */
+    public HillClimbSearch(int n) {
+
+        this.numSimulations = n;
+        
+    }
+
+/** 
+ * This method manages the iteration of the specified number of 
+ * simulations
+ * 
+ * @param n the desired n value of the NxN board and number of queens
+ */
+
+    public void run(int n) {
+
+        this.n = n;
+        this.metrics = new SearchMetrics(this.getClass().getSimpleName(), n, this.numSimulations);
+
+        //Loop through the number of desired simulations
+        for(int i = 0; i < this.numSimulations; i++) {
+
+            this.setRandom(this.nextTrialRandom());
+
+            //Simulate a search
+            this.metrics.record(this.runTrial(i));
+
+        }
+
+        //Prints the search summary stats
+        if(this.printSummary) {
+            printResults();
+        }
+    }
+
+/** 
+ * This method runs the simulations in parallel across a pool of worker threads.
+ * Every trial gets its own search instance and state, so no mutable fields are
+ * shared between threads. The per-trial stats are merged with LongAdder counters
+ * and printed the same way as run(n). Search paths are not printed
+ * 
+ * @param n the desired n value of the NxN board and number of queens
+ * @param threads the number of worker threads to use
+ */
+
+    public void runParallel(int n, int threads) {
+
+        this.n = n;
+
+        LongAdder successes = new LongAdder();
+        LongAdder failures = new LongAdder();
+        LongAdder numStepsSuccess = new LongAdder();
+        LongAdder numStepsFail = new LongAdder();
+        LongAdder numRestarts = new LongAdder();
+        LongAdder numSidewaysMoves = new LongAdder();
+
+        this.metrics = new SearchMetrics(this.getClass().getSimpleName(), n, this.numSimulations);
+
+        //Split the trial RNGs up front and in order, so each trial gets the same RNG as in run(n)
+        RandomGenerator[] trialRandoms = new RandomGenerator[this.numSimulations];
+        for(int i = 0; i < this.numSimulations; i++) {
+            trialRandoms[i] = this.nextTrialRandom();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        try {
+            pool.submit(() -> IntStream.range(0, this.numSimulations).parallel().forEach(i -> {
+                HillClimbSearch trial = this.newTrial();
+                this.configureTrial(trial, i);
+                trial.setRandom(trialRandoms[i]);
+
+                //Simulate a search
+                this.metrics.record(trial.runTrial(i));
+
+                successes.add(trial.successes);
+                failures.add(trial.failures);
+                numStepsSuccess.add(trial.numStepsSuccess);
+                numStepsFail.add(trial.numStepsFail);
+                numRestarts.add(trial.numRestarts);
+                numSidewaysMoves.add(trial.numSidewaysMoves);
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+
+        this.successes = successes.intValue();
+        this.failures = failures.intValue();
+        this.numStepsSuccess = numStepsSuccess.intValue();
+        this.numStepsFail = numStepsFail.intValue();
+        this.numRestarts = numRestarts.intValue();
+        this.numSidewaysMoves = numSidewaysMoves.intValue();
+
+        //Prints the search summary stats
+        if(this.printSummary) {
+            printResults();
+        }
+    }
+
+/** 
+ * This method runs a single simulation round from a fresh board and measures
+ * its steps, restarts, sideways moves, wall time and allocated bytes
+ * @param simNum the current simulation round
+ * @return TrialResult the measurements of the round
+ */
+
+    protected TrialResult runTrial(int simNum) {
+        int restarts = this.numRestarts;
+        int sideways = this.numSidewaysMoves;
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+
+        this.roundRestarts = this.numRestarts;
+        this.best = null;
+        this.current = this.createInitialState();
+        this.tracedRound = -1;
+
+        simRound(simNum);
+
+        long wallNanos = System.nanoTime() - start;
+        long allocatedNow = allocatedBytes();
+
+        return new TrialResult(simNum, this.current.getHValue(), this.lastSteps,
+                this.numRestarts - restarts, this.numSidewaysMoves - sideways, wallNanos,
+                allocated < 0 || allocatedNow < 0 ? -1 : allocatedNow - allocated);
+    }
+
+/** 
+ * This method reads the bytes allocated so far by the current thread
+ * @return long the allocated bytes, or -1 if the JVM cannot measure them
+ */
+
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if(bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if(sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+/** 
+ * This method returns the per-trial results of the last run
+ * @return SearchMetrics the metrics of the last run, null before a run
+ */
+
+    public SearchMetrics getMetrics() {
+        return this.metrics;
+    }
+
+/** 
+ * This method sends the search paths to an asynchronous trace sink instead of
+ * printing the boards, or back to printing with null
+ * @param traceSink the sink to record the moves in
+ */
+
+    public void setTraceSink(TraceSink traceSink) {
+        this.traceSink = traceSink;
+    }
+
+/** 
+ * This method records the starting board of a traced round. Only the searches that
+ * trace their moves call it, at the start of simRound, so every start has moves and an end
+ * @param simNum the current simulation number
+ */
+
+    protected void traceStart(int simNum) {
+        if(this.traceSink != null && this.isTraced(simNum)) {
+            this.traceSink.start(simNum, this.current);
+            this.tracedRound = simNum;
+        }
+    }
+
+/** 
+ * This method checks if a simulation is one of the last 4, which have their paths printed
+ * @param simNum the current simulation number
+ * @return boolean if the path of the simulation is printed or traced
+ */
+
+    protected boolean isTraced(int simNum) {
+        return this.printTrace && simNum > this.numSimulations - 5;
+    }
+
+/** 
+ * This method turns the printed search paths and summary stats on or off,
+ * for when the results are exported through getMetrics instead
+ * @param print whether to print
+ */
+
+    public void setPrintOutput(boolean print) {
+        this.printTrace = print;
+        this.printSummary = print;
+    }
+
+/** 
+ * This method creates a fresh search of the same type to run a single
+ * trial on a worker thread. Subclasses override it to return their own type
+ * @return HillClimbSearch the new search
+ */
+
+    protected HillClimbSearch newTrial() {
+        return new HillClimbSearch(1);
+    }
+
+/** 
+ * This method copies the settings of this search onto a parallel trial
+ * @param trial the search that runs the trial
+ * @param simNum the trial number
+ */
+
+    protected void configureTrial(HillClimbSearch trial, int simNum) {
+        trial.n = this.n;
+        trial.printTrace = false;
+        trial.rngAlgorithm = this.rngAlgorithm;
+        trial.budget = this.budget;
+    }
+
+/** 
+ * This method solves a single board within a budget and returns the best state
+ * found so far, even if the budget ran out first. Nothing is printed
+ * 
+ * @param n the desired n value of the NxN board and number of queens
+ * @param budget the deadline, restart limit and cancellation to stop at
+ * @return SolveResult the best state, its h(n) and how the solve ended
+ */
+
+    public SolveResult solve(int n, SearchBudget budget) {
+
+        this.n = n;
+        SearchBudget previous = this.budget;
+        boolean print = this.printTrace;
+        this.budget = budget;
+        this.printTrace = false;
+
+        try {
+            this.setRandom(this.nextTrialRandom());
+            TrialResult trial = this.runTrial(0);
+
+            this.rememberBest();
+
+            SolveResult.Outcome outcome = SolveResult.Outcome.STUCK;
+            if(this.best.getHValue() == 0) {
+                outcome = SolveResult.Outcome.SOLVED;
+            } else if(this.isOutOfBudget()) {
+                outcome = SolveResult.Outcome.OUT_OF_BUDGET;
+            }
+
+            return new SolveResult(this.best, trial.getSteps(), trial.getRestarts(), trial.getWallNanos(), outcome,
+                    this.getClass().getSimpleName());
+        } finally {
+            this.budget = previous;
+            this.printTrace = print;
+        }
+    }
+
+/** 
+ * This method sets a budget that limits every round of run and runParallel,
+ * such as a restart limit for boards with no solution. Null removes the limit
+ * @param budget the budget to use
+ */
+
+    public void setBudget(SearchBudget budget) {
+        this.budget = budget;
+    }
+
+/** 
+ * This method checks if the current round has to stop because of its budget
+ * @return boolean if the budget is used up
+ */
+
+    protected boolean isOutOfBudget() {
+        return this.budget != null && this.budget.isExhausted(this.numRestarts - this.roundRestarts);
+    }
+
+/** 
+ * This method keeps a copy of the current state if it is the best of the round
+ */
+
+    protected void rememberBest() {
+        if(this.best == null) {
+            this.best = new State(this.current);
+        } else if(this.current.getHValue() < this.best.getHValue()) {
+            this.best.copyFrom(this.current);
+        }
+    }
+
+/** 
+ * This method re-randomizes the current state in place and counts the restart,
+ * keeping a copy of the old board if it was the best of the round so far. In a
+ * traced round the new board is traced as a new start, so the later moves render on it
+ */
+
+    protected void restart() {
+        this.rememberBest();
+        this.current.randomize(this.rng);
+        this.numRestarts++;
+
+        if(this.tracedRound != -1) {
+            this.traceSink.start(this.tracedRound, this.current);
+        }
+    }
+
+/** 
+ * This method seeds the root RNG of the search so the runs can be repeated exactly,
+ * whether they run on one thread or many
+ * @param seed the seed to use
+ */
+
+    public void setSeed(long seed) {
+        this.rngSource = RandomGeneratorFactory.of(this.rngAlgorithm).create(seed);
+    }
+
+/** 
+ * This method picks the RNG algorithm by its java.util.random name, such as
+ * SplittableRandom, L64X128MixRandom or Xoshiro256PlusPlus. Call it before setSeed
+ * @param algorithm the name of the RNG algorithm
+ * @throws IllegalArgumentException if the algorithm is not known
+ */
+
+    public void setRandomAlgorithm(String algorithm) {
+        this.rngSource = RandomGeneratorFactory.of(algorithm).create();
+        this.rngAlgorithm = algorithm;
+    }
+
+/** 
+ * This method sets the RNG the current trial draws its boards and moves from
+ * @param rng the RNG to use
+ */
+
+    protected void setRandom(RandomGenerator rng) {
+        this.rng = rng;
+    }
+
+/** 
+ * This method creates the RNG for the next trial from the root RNG. Splittable
+ * algorithms are split, others are seeded from the root RNG
+ * @return RandomGenerator the RNG of the next trial
+ */
+
+    protected RandomGenerator nextTrialRandom() {
+        if(this.rngSource instanceof RandomGenerator.SplittableGenerator) {
+            return ((RandomGenerator.SplittableGenerator) this.rngSource).split();
+        }
+        return RandomGeneratorFactory.of(this.rngAlgorithm).create(this.rngSource.nextLong());
+    }
+
+/** 
+ * This method creates the starting state for a simulation round
+ * @return State a random board of the current n
+ */
+
+    protected State createInitialState() {
+        return new State(this.n, this.rng);
+    }
+
+/** 
+ * This method will continue to call methods searching
+ * for the best neighbor until the h(n) == 0 or there are
+ * no better neighbors
+ * @param simNum the current simulation round
+ */
+
+    protected void simRound(int simNum) {
+        
+        int count = 0;
+
+        traceStart(simNum);
+
+        //Loop to continue until the solved state is found or the budget runs out
+        while(current.getHValue() != 0 && !this.isOutOfBudget()) {
+
+            //Find the best neighbor and move the current state to it
+            this.generateBestNeighbors();
+
+            //If no better neighbors, break out of round
+            if(!this.moveToBestNeighbor()) {
+                break;
+            }
+            count++;
+
+            //Prints search path if within last 4 rounds
+            printPaths(simNum, count);
+
+        }
+
+        //Print out success or fail if last 4 rounds
+        printSuccessFail(simNum);
+
+        //Check whether to add stats to success or failures
+        checkStats(count);
+    }
+
+/** 
+ * This method checks whether to attribute the stats of the current round
+ * into the success or failure category
+ * @param count the number of steps it took to reach the end state
+ */
+
+    protected void checkStats(int count){
+
+        this.lastSteps = count;
+
+        //If solved -> success
+        if(this.current.getHValue() == 0) {
+            this.successes++;
+            this.numStepsSuccess += count;
+
+        //Else -> failure
+        } else {
+            this.failures++;
+            this.numStepsFail += count;
+        }
+    }
+
+
+    /**
+     * Sets a parallel scanner to score the moves of each step across worker threads,
+     * or null to scan on the search thread
+     * @param parallelScan the scanner to use
+     */
+    public void setParallelScan(ParallelNeighborScan parallelScan) {
+        this.parallelScan = parallelScan;
+    }
+
+    /**
+     * Searches through the board and scores every possible move with the current
+     * state's conflict counters. The first move better than every other is kept
+     * as the best move, no neighbor state is created
+     */
+    public void generateBestNeighbors() {
+        long bestH = this.current.getHValue();
+        int bestColumn = -1;
+        int bestRow = -1;
+
+        //Let the workers scan the board, keeping the first best move like the loop below
+        if(this.parallelScan != null) {
+            ParallelNeighborScan.Move move = this.parallelScan.findBest(this.current, bestH, false, this.rng);
+            if(move != null) {
+                bestColumn = move.column;
+                bestRow = move.row;
+            }
+        } else {
+            //Loops through board
+            for(int i = 0; i < n; i++) {
+                for(int j = 0; j < n; j++) {
+                    //Check that the queen is not in the location
+                    if(this.current.getQueensLocation()[i] != j) {
+                        long h = this.current.evaluateMove(i, j);
+
+                        //If better than current best move, then set as new best move
+                        if(h < bestH) {
+                            bestH = h;
+                            bestColumn = i;
+                            bestRow = j;
+                        }
+                    }
+                }
+            }
+        }
+
+        //Column stays -1 if there is no better move
+        this.bestMoveColumn = bestColumn;
+        this.bestMoveRow = bestRow;
+    }
+
+    /**
+     * Applies the best move of the last scan to the current state in place
+     * @return boolean if there was a better move to apply
+     */
+    protected boolean moveToBestNeighbor() {
+        if(this.bestMoveColumn == -1) {
+            return false;
+        }
+
+        this.current.applyMove(this.bestMoveColumn, this.bestMoveRow);
+        return true;
+    }
+    
+    /** 
+     * 
+     * This method prints the search path if the simulation is one of the last 4
+     * @param simNum the current simulation number
+     * @param count the number of steps in the round
+     */
+    
+    protected void printPaths(int simNum, int count) {
+
+        if(!this.printTrace) {
+            return;
+        }
+
+        //Hand the move to the trace writer instead of printing the board
+        if(this.traceSink != null) {
+            int column = this.current.getLastMoveColumn();
+            if(this.isTraced(simNum) && column >= 0) {
+                this.traceSink.move(simNum, count, column, this.current.getLastMoveFromRow(),
+                        this.current.getQueensLocation()[column], this.current.getHValue());
+            }
+            return;
+        }
+        
+        if(simNum == this.numSimulations - 4 && count == 1) {
+            printSearchType();
+        }
+
+        if(simNum > this.numSimulations - 5) {
+            this.current.printBoard();
+            System.out.println("h(n): " + this.current.getHValue());
+            System.out.println();
+        }
+    }
+
+/** 
+ * This method prints if the search was a success or a failure
+ * @param simNum the current simualtion number
+ */
+
+    protected void printSuccessFail(int simNum) {
+
+        if(!this.printTrace) {
+            return;
+        }
+
+        if(this.traceSink != null) {
+            if(this.isTraced(simNum)) {
+                this.traceSink.end(simNum, this.current.getHValue());
+            }
+            return;
+        }
+        
+        if(this.current.getHValue() == 0 && simNum > this.numSimulations - 5) {
+            System.out.println("Success!");
+        } else if (this.current.getHValue() != 0 && simNum > this.numSimulations - 5) {
+            System.out.println("Failure!");
+        }
+    }
+
+    /**
+     * Prints out the name of the search type
+     */
+    public void printSearchType() {
+        System.out.println();
+        System.out.println("-----HILL CLIMB SEARCH RESULTS-----");
+    }
+
+    /**
+     * Prints out the stats of the simulations
+     */
+    public void printResults() {
+
+        this.printSearchType();
+
+        if(this.successes > 0) {
+            System.out.println("Number of Simulations: " + this.numSimulations);
+            System.out.println("Number of Successes: " + this.successes);
+            System.out.println("Number of Moves: " + this.numStepsSuccess);
+            System.out.println("Average Steps for Success: " +  (double) this.numStepsSuccess / this.successes);
+        }
+        
+        if(this.failures > 0) {
+            System.out.println("Number of Failures: " + this.failures);
+            System.out.println("Number of Moves: " + this.numStepsFail);
+            System.out.println("Average Steps for Failure: " + (double) this.numStepsFail / this.failures);
+        }
+    }
+
+}
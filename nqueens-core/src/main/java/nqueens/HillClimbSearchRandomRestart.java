@@ -1,3 +1,5 @@
+package nqueens;
+
 /**
  * This class represents Hill Climbing Search with Random Restarts when an
  * alternative is not found. It is an extension of the HillClimbSearch Class
@@ -5,7 +7,6 @@
  * @version 1.0
  */
 public class HillClimbSearchRandomRestart extends HillClimbSearch{
-    private int numRestarts;
 
     /**
      * Constructor that takes in the number of simulations to run
@@ -16,6 +17,15 @@ public class HillClimbSearchRandomRestart extends HillClimbSearch{
 
     }
 
+    /**
+     * Creates a fresh search of this type for a single parallel trial
+     * @return HillClimbSearch the new search
+     */
+    @Override
+    protected HillClimbSearch newTrial() {
+        return new HillClimbSearchRandomRestart(1);
+    }
+
     /**
      * Allows for simulation of rounds like the parent Hill Climb Search,
      * but includes the ability to randomly create new board state if no
@@ -26,16 +36,13 @@ public class HillClimbSearchRandomRestart extends HillClimbSearch{
     public void simRound(int numSim) {
         int count = 0;
 
-        //While the board is not solved
-        while(current.getHValue() != 0) {
+        //While the board is not solved and there is budget left
+        while(current.getHValue() != 0 && !this.isOutOfBudget()) {
             this.generateBestNeighbors();
 
-            this.current = this.current.getBestNeighbor();
-
             //If there are no neighbor options then reset
-            if(this.current.getBestNeighbor() == this.current) {
-                this.current = new State(this.n);
-                this.numRestarts++;
+            if(!this.moveToBestNeighbor()) {
+                this.restart();
             }
             count++;
         }
@@ -57,13 +64,13 @@ public class HillClimbSearchRandomRestart extends HillClimbSearch{
             System.out.println("Number of Restarts: " + this.numRestarts);
             System.out.println("Number of Successes: " + this.successes);
             System.out.println("Number of Moves: " + this.numStepsSuccess);
-            System.out.println("Average Steps for Success: " +  (double)(this.numStepsSuccess / this.successes));
+            System.out.println("Average Steps for Success: " +  (double) this.numStepsSuccess / this.successes);
         }
         
         if(this.failures > 0) {
             System.out.println("Number of Failures: " + this.failures);
             System.out.println("Number of Moves: " + this.numStepsFail);
-            System.out.println("Average Steps for Failure: " + (double)(this.numStepsFail / this.failures));
+            System.out.println("Average Steps for Failure: " + (double) this.numStepsFail / this.failures);
         }
 
         
@@ -1,3 +1,5 @@
+package nqueens;
+
 
 /**
 * This class represents Hill Climbing Search with Random Restarts when an
@@ -7,7 +9,6 @@
 */
  
 public class HillClimbSearchRandomRestartSideways extends HillClimbSearchSideways {
-    private int numRestarts; //Number of restarts used
 
     /**
      * Constructor that takes in the number of simulations to run
@@ -17,6 +18,15 @@ public class HillClimbSearchRandomRestartSideways extends HillClimbSearchSideway
         super(n);
     }
 
+    /**
+     * Creates a fresh search of this type for a single parallel trial
+     * @return HillClimbSearch the new search
+     */
+    @Override
+    protected HillClimbSearch newTrial() {
+        return new HillClimbSearchRandomRestartSideways(1);
+    }
+
     /**
      * Allows for simulation of rounds like the parent Hill Climb w Sideways Search,
      * but includes the ability to randomly create new board state if no
@@ -27,11 +37,13 @@ public class HillClimbSearchRandomRestartSideways extends HillClimbSearchSideway
     public void simRound(int numSim) {
         
         int count = 0;
-        int plateauTracker = 0;
+        long plateauTracker = 0;
         int plateauCount = 0;
 
-        //Until the board is solved
-        while(current.getHValue() != 0) {
+        this.resetHistory();
+
+        //Until the board is solved or the budget runs out
+        while(current.getHValue() != 0 && !this.isOutOfBudget()) {
 
             plateauTracker = current.getHValue();
 
@@ -39,36 +51,26 @@ public class HillClimbSearchRandomRestartSideways extends HillClimbSearchSideway
 
             //If there are no options, reset
             if(this.neighbors.isEmpty()) {
-                this.current = new State(this.n);
-                this.numRestarts++;
+                this.restart();
                 count++;
                 continue;
             }
 
-            this.last = this.current;
-
-            //If the neighbor board is the same remove from queue
-            while(this.neighbors.peek().compareBoards(this.current.getBoard())) {
-                this.neighbors.remove();
-            } 
-
             //Gets random neighbor from queue
-            this.current.setBestNeighbor(this.neighbors.dequeue());
-    
-
-            this.current = this.current.getBestNeighbor();
+            this.moveToNeighbor();
 
             //If the h(n) value is the same then track the plateau
             if(this.current.getHValue() == plateauTracker) {
                 plateauCount++;
+                this.numSidewaysMoves++;
             } else {
                 plateauCount = 0;
             }
 
             //If the plateau loop limit is reached then restart
-            if(plateauCount == NUM_PLATEAU_LOOPS) {
-                this.current = new State(this.n);
-                this.numRestarts++;
+            if(plateauCount == this.plateauLimit) {
+                this.restart();
+                plateauCount = 0;
             }
             count++;
         }
@@ -90,13 +92,13 @@ public class HillClimbSearchRandomRestartSideways extends HillClimbSearchSideway
             System.out.println("Number of Restarts: " + this.numRestarts);
             System.out.println("Number of Successes: " + this.successes);
             System.out.println("Number of Moves: " + this.numStepsSuccess);
-            System.out.println("Average Steps for Success: " +  (double)(this.numStepsSuccess / this.successes));
+            System.out.println("Average Steps for Success: " +  (double) this.numStepsSuccess / this.successes);
         }
         
         if(this.failures > 0) {
             System.out.println("Number of Failures: " + this.failures);
             System.out.println("Number of Moves: " + this.numStepsFail);
-            System.out.println("Average Steps for Failure: " + (double)(this.numStepsFail / this.failures));
+            System.out.println("Average Steps for Failure: " + (double) this.numStepsFail / this.failures);
         }
     }
 }
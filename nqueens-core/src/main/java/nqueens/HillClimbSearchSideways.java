@@ -0,0 +1,223 @@
+package nqueens;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * This class represents Hill Climbing Search with Sideways when an
+ * alternative with a lower h(n) is not found. It is an extension of the HillClimbSearch Class.
+ * The chosen move is applied to the current state in place, so a step allocates nothing.
+ * Moves back to a recently visited board are rejected by its Zobrist hash, so a walk
+ * across a plateau does not go around in cycles
+ * @author James Wooten
+ * @version 1.0
+ */
+
+public class HillClimbSearchSideways extends HillClimbSearch{
+
+
+    final int NUM_PLATEAU_LOOPS = 100; //The default number of times to allow plateau traversal
+    public NeighborQueue neighbors;
+    protected int plateauLimit = NUM_PLATEAU_LOOPS; //The number of times to allow plateau traversal
+    final int NUM_RECENT_STATES = 100; //The default number of recent boards that cannot be revisited
+    protected RecentStates history; //Hashes of the recently visited boards of the round
+    protected int historySize = NUM_RECENT_STATES;
+
+    /**
+     * Constructor that takes in the number of simulations to run
+     * @param n the num of simulations to run
+     */
+    public HillClimbSearchSideways(int n) {
+        super(n);
+        this.neighbors = new NeighborQueue(this.rng);
+        this.history = new RecentStates(this.historySize);
+    }
+
+    /**
+     * Creates a fresh search of this type for a single parallel trial
+     * @return HillClimbSearch the new search
+     */
+    @Override
+    protected HillClimbSearch newTrial() {
+        return new HillClimbSearchSideways(1);
+    }
+
+    /**
+     * Copies the settings of this search, including the plateau limit, onto a parallel trial
+     * @param trial the search that runs the trial
+     * @param simNum the trial number
+     */
+    @Override
+    protected void configureTrial(HillClimbSearch trial, int simNum) {
+        super.configureTrial(trial, simNum);
+        ((HillClimbSearchSideways) trial).plateauLimit = this.plateauLimit;
+        ((HillClimbSearchSideways) trial).setRecentStates(this.historySize);
+    }
+
+    /**
+     * Sets the RNG of the current trial and shares it with the neighbor queue
+     * @param rng the RNG to use
+     */
+    @Override
+    protected void setRandom(RandomGenerator rng) {
+        super.setRandom(rng);
+        this.neighbors.setRandom(rng);
+    }
+
+    /**
+     * Sets the number of sideways moves allowed in a row on a plateau
+     * @param plateauLimit the plateau limit
+     */
+    public void setPlateauLimit(int plateauLimit) {
+        this.plateauLimit = plateauLimit;
+    }
+
+    /**
+     * Sets how many of the most recent boards of a round cannot be visited again
+     * @param size the number of recent boards to remember
+     */
+    public void setRecentStates(int size) {
+        this.historySize = size;
+        this.history = new RecentStates(size);
+    }
+
+    /**
+     * Forgets the visited boards and remembers only the current one,
+     * at the start of a round and after a restart
+     */
+    protected void resetHistory() {
+        this.history.clear();
+        this.history.add(this.current.getHash());
+    }
+
+    /**
+     * Re-randomizes the current state and forgets the boards visited before it
+     */
+    @Override
+    protected void restart() {
+        super.restart();
+        this.resetHistory();
+    }
+    
+
+    /**
+     * Allows for simulation of rounds like the parent Hill Climb Search,
+     * but includes the ability to select a neighbor with the same h(n) value
+     * @param numSim the current simulation number
+     */
+    @Override
+    public void simRound(int simNum) {
+        
+        int count = 0;
+        long plateauTracker = 0;
+        int plateauCount = 0;
+
+        this.resetHistory();
+        traceStart(simNum);
+
+        //Until board is solved or the budget runs out
+        while(current.getHValue() != 0 && !this.isOutOfBudget()) {
+
+            plateauTracker = current.getHValue();
+
+            this.generateBestNeighbors(); //Get best neighbor
+
+            //If no neighbors then break
+            if(this.neighbors.isEmpty()) {
+                break;
+            }
+
+            //Get random neighbor from queue and move to it
+            this.moveToNeighbor();
+
+            //If the h(n) value is the same then track the plateau 
+            if(this.current.getHValue() == plateauTracker) {
+                plateauCount++;
+                this.numSidewaysMoves++;
+            } else {
+                plateauCount = 0;
+            }
+
+            if(plateauCount == this.plateauLimit) {
+                break;
+            }
+            count++;
+            printPaths(simNum, count);
+        }
+
+        printSuccessFail(simNum);
+        checkStats(count);
+    }
+    
+    /**
+     * Takes a random neighbor move from the queue and applies it to the current state
+     */
+    protected void moveToNeighbor() {
+        long move = this.neighbors.dequeue();
+
+        this.current.applyMove(NeighborQueue.getColumn(move), NeighborQueue.getRow(move));
+        this.history.add(this.current.getHash());
+    }
+    
+     /**
+     * Searches through the board and scores every possible move with the current
+     * state's conflict counters. If a move is better or equal to the current state's
+     * h(n) and does not lead back to a recent board then it is sent into a queue for
+     * random selection
+     */
+    @Override
+    public void generateBestNeighbors() {
+        long threshold = this.current.getHValue();
+
+        //If every move leads back to a recent board, allow them rather than end the walk
+        if(this.scanNeighbors(threshold, this.history) && this.neighbors.isEmpty()) {
+            this.scanNeighbors(threshold, null);
+        }
+    }
+
+    /**
+     * Queues the moves with an h(n) of at most the threshold, skipping moves to excluded boards
+     * @param threshold the highest h(n) to queue
+     * @param exclude the boards to skip moves to, or null to allow every move
+     * @return boolean if any move was skipped because of its board
+     */
+    protected boolean scanNeighbors(long threshold, RecentStates exclude) {
+
+        //Let the workers pick one of the best moves uniformly at random
+        if(this.parallelScan != null) {
+            ParallelNeighborScan.Move move = this.parallelScan.findBest(this.current, threshold + 1, true, this.rng, exclude);
+            if(move != null) {
+                this.neighbors.enqueue(move.column, move.row, move.hValue);
+            }
+            return move == null && exclude != null;
+        }
+
+        boolean skipped = false;
+
+        for(int i = 0; i < this.n; i++) {
+            for(int j = 0; j < this.n; j++) {
+                if(this.current.getQueensLocation()[i] != j) {
+                    long h = this.current.evaluateMove(i, j);
+
+                    if(h <= threshold) {
+                        if(exclude != null && exclude.contains(this.current.hashAfterMove(i, j))) {
+                            skipped = true;
+                        } else {
+                            this.neighbors.enqueue(i, j, h);
+                        }
+                    }
+                }
+            }
+        }
+        return skipped;
+    }
+
+     /**
+     * Prints out the name of the search type
+     */
+    @Override
+    public void printSearchType() {
+        System.out.println();
+        System.out.println("-----HILL CLIMB SEARCH w/ SIDEWAYS RESULTS-----");
+    }
+
+}
@@ -0,0 +1,162 @@
+package nqueens;
+
+/**
+ * This class represents the Min-Conflicts Local Search Algorithm for very
+ * large boards. It starts from a greedy placement that avoids most conflicts,
+ * then repeatedly picks a conflicted queen and moves it to the row in its
+ * column with the fewest conflicts. Moves are scored with the state's O(1)
+ * conflict counters, so no neighborhood is generated. It is an extension of
+ * the HillClimbSearch Class and reports through the same stats
+ * @author James Wooten
+ * @version 1.0
+ */
+public class MinConflictsSearch extends HillClimbSearch {
+
+    final int GREEDY_TRIES = 50; //Random rows tried per column during the greedy placement
+    final int MIN_MAX_STEPS = 1000; //Smallest step budget for a round
+    private int maxSteps;
+    private int[] conflicted; //Buffer of the columns with conflicts
+
+    /**
+     * Constructor that takes in the number of simulations to run
+     * @param n the num of simulations to run
+     */
+    public MinConflictsSearch(int n) {
+        super(n);
+    }
+
+    /**
+     * Creates a fresh search of this type for a single parallel trial
+     * @return HillClimbSearch the new search
+     */
+    @Override
+    protected HillClimbSearch newTrial() {
+        return new MinConflictsSearch(1);
+    }
+
+    /** 
+     * Creates a greedy starting state. Each column takes a row that has not been used
+     * yet, preferring one that leaves its diagonals empty
+     * @return State the greedy board of the current n
+     */
+    @Override
+    protected State createInitialState() {
+        int[] rows = new int[this.n];
+        int[] diagCounts = new int[2 * this.n - 1];
+        int[] antiDiagCounts = new int[2 * this.n - 1];
+
+        for(int i = 0; i < this.n; i++) {
+            rows[i] = i;
+        }
+
+        for(int i = 0; i < this.n; i++) {
+            //Rows in [i, n) are still unused
+            int pick = i + this.rng.nextInt(this.n - i);
+
+            for(int t = 0; t < GREEDY_TRIES; t++) {
+                int j = i + this.rng.nextInt(this.n - i);
+                if(diagCounts[rows[j] - i + this.n - 1] == 0 && antiDiagCounts[rows[j] + i] == 0) {
+                    pick = j;
+                    break;
+                }
+            }
+
+            int row = rows[pick];
+            rows[pick] = rows[i];
+            rows[i] = row;
+
+            diagCounts[row - i + this.n - 1]++;
+            antiDiagCounts[row + i]++;
+        }
+
+        return new State(rows);
+    }
+
+    /**
+     * Runs the min-conflicts loop until the board is solved or the step budget runs out.
+     * Each pass collects the conflicted columns and moves them one at a time in random order
+     * @param simNum the current simulation number
+     */
+    @Override
+    protected void simRound(int simNum) {
+        int count = 0;
+
+        this.maxSteps = Math.max(MIN_MAX_STEPS, this.n);
+
+        if(this.conflicted == null || this.conflicted.length != this.n) {
+            this.conflicted = new int[this.n];
+        }
+
+        //Until the board is solved or out of steps or budget
+        while(this.current.getHValue() != 0 && count < this.maxSteps && !this.isOutOfBudget()) {
+
+            int size = this.collectConflicted();
+
+            while(size > 0 && count < this.maxSteps && !this.isOutOfBudget()) {
+                int pick = this.rng.nextInt(size);
+                int column = this.conflicted[pick];
+                this.conflicted[pick] = this.conflicted[--size];
+
+                //An earlier move this pass may have already fixed the queen
+                if(this.current.getConflicts(column) == 0) {
+                    continue;
+                }
+
+                this.current.applyMove(column, this.minConflictRow(column));
+                count++;
+            }
+        }
+
+        checkStats(count);
+    }
+
+    /** 
+     * Fills the buffer with every column whose queen is attacked
+     * @return int the number of conflicted columns
+     */
+    private int collectConflicted() {
+        int size = 0;
+
+        for(int i = 0; i < this.n; i++) {
+            if(this.current.getConflicts(i) > 0) {
+                this.conflicted[size++] = i;
+            }
+        }
+
+        return size;
+    }
+
+    /** 
+     * Finds the row in a column with the fewest conflicts, breaking ties at random
+     * @param column the column of the queen to move
+     * @return int the chosen row
+     */
+    private int minConflictRow(int column) {
+        long best = Long.MAX_VALUE;
+        int bestRow = this.current.getQueensLocation()[column];
+        int ties = 0;
+
+        for(int row = 0; row < this.n; row++) {
+            long h = this.current.evaluateMove(column, row);
+
+            if(h < best) {
+                best = h;
+                bestRow = row;
+                ties = 1;
+            } else if(h == best && this.rng.nextInt(++ties) == 0) {
+                bestRow = row;
+            }
+        }
+
+        return bestRow;
+    }
+
+    /**
+     * Prints out the name of the search type
+     */
+    @Override
+    public void printSearchType() {
+        System.out.println();
+        System.out.println("-----MIN-CONFLICTS SEARCH RESULTS-----");
+    }
+}
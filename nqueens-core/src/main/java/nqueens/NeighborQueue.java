@@ -0,0 +1,144 @@
+package nqueens;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+
+/**
+ * This class represents a queue of the possible neighbors to select.
+ * Neighbors within this queue must be of the same h(n). If a lower option is found
+ * then the queue is cleared and the new move is added. Neighbors are kept as
+ * packed (column, row) moves rather than states, and the queue only holds one of
+ * them: each tied move replaces it with probability 1/ties (reservoir sampling),
+ * so dequeue returns a uniformly random neighbor to prevent the selection being
+ * location biased without storing the whole tie set. Nothing is allocated per move
+ * @author James Wooten
+ * @version 1.0
+ */
+public class NeighborQueue {
+    private RandomGenerator rng; //Single RNG reused for every step of the search
+    private long move; //Packed move currently selected from the ties
+    private long hValue; //h(n) of the moves in the queue
+    private int size; //Number of tied moves seen since the queue was cleared
+
+   /**
+     * Constructor that creates the queue and its RNG
+     */
+    public NeighborQueue(){
+        this(new SplittableRandom());
+    }
+
+   /**
+     * Constructor that takes the RNG of the search the queue belongs to
+     * @param rng the RNG to pick tied moves with
+     */
+    public NeighborQueue(RandomGenerator rng){
+        this.rng = rng;
+    }
+
+    /**
+     * Sets the RNG to pick tied moves with
+     * @param rng the RNG of the search
+     */
+    public void setRandom(RandomGenerator rng) {
+        this.rng = rng;
+    }
+
+    /**
+     * Adds the move to the queue if the h(n) is lower or equal to the current queue h(n).
+     * If lower then the queue is reset before adding
+     * @param column the column of the queen to move
+     * @param row the row to move the queen to
+     * @param hValue the h(n) of the board after the move
+     */
+    public void enqueue(int column, int row, long hValue) {
+
+        //If empty or less than queue then clear queue and add move
+        if(this.size == 0 || hValue < this.hValue) {
+            this.move = pack(column, row);
+            this.hValue = hValue;
+            this.size = 1;
+
+        //If tied then keep the new move with probability 1/size
+        } else if (hValue == this.hValue) {
+            this.size++;
+            if(this.rng.nextInt(this.size) == 0) {
+                this.move = pack(column, row);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns a random neighbor from the queue and clears queue
+     * @return the packed move, or -1 if the queue is empty
+     */
+    public long dequeue() {
+        if(this.size == 0) {
+            return -1;
+        }
+
+        this.size = 0;
+
+        return this.move;
+    }
+
+    /**
+     * Checks if queue is empty
+     * @return if the queue is empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the h(n) of the moves in the queue
+     * @return the h(n) of the queue
+     */
+    public long getHValue() {
+        return this.hValue;
+    }
+
+    /**
+     * Returns the number of tied moves the selection was made from
+     * @return the number of tied moves
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Clears the queue
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Packs a move into a single long
+     * @param column the column of the queen to move
+     * @param row the row to move the queen to
+     * @return the packed move
+     */
+    public static long pack(int column, int row) {
+        return ((long) column << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Unpacks the column of a move
+     * @param move the packed move
+     * @return the column of the queen to move
+     */
+    public static int getColumn(long move) {
+        return (int) (move >>> 32);
+    }
+
+    /**
+     * Unpacks the row of a move
+     * @param move the packed move
+     * @return the row to move the queen to
+     */
+    public static int getRow(long move) {
+        return (int) move;
+    }
+
+}
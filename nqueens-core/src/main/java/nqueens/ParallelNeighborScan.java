@@ -0,0 +1,212 @@
+package nqueens;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * This class scores all the possible moves of a single state in parallel.
+ * The columns are split into chunks across a pool of workers, every chunk finds
+ * its best move with the state's O(1) conflict counters and the chunk results
+ * are reduced into one. When several moves tie for the best h(n) the reduction
+ * keeps a count of the ties, so the chosen move is uniformly random over all of
+ * them, just like NeighborQueue.dequeue. Every chunk splits its own RNG off the
+ * search's RNG along the fixed split tree, so a seeded search picks the same moves
+ * no matter how the chunks are scheduled. This is meant for latency on one large
+ * board, the state is only read while scanning
+ * @author James Wooten
+ * @version 1.0
+ */
+public class ParallelNeighborScan {
+
+    final int CHUNKS_PER_THREAD = 4; //Chunks per worker so uneven chunks balance out
+    private ForkJoinPool pool;
+    private int threads;
+
+    /**
+     * Constructor that takes in the number of worker threads to scan with
+     * @param threads the number of worker threads
+     */
+    public ParallelNeighborScan(int threads) {
+        this.threads = threads;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Finds the best move of a state with an h(n) lower than the bound
+     * @param state the state to scan, it is not changed
+     * @param bound moves must have an h(n) lower than this
+     * @param randomTies true to pick uniformly among tied moves, false to keep
+     * the first tied move in column order like a sequential scan
+     * @param rng the RNG of the search, split for each chunk
+     * @return Move the best move, or null if no move is under the bound
+     */
+    public Move findBest(State state, long bound, boolean randomTies, RandomGenerator rng) {
+        return this.findBest(state, bound, randomTies, rng, null);
+    }
+
+    /**
+     * Finds the best move of a state with an h(n) lower than the bound that does
+     * not lead back to a recently visited board. The recent states are only read
+     * @param state the state to scan, it is not changed
+     * @param bound moves must have an h(n) lower than this
+     * @param randomTies true to pick uniformly among tied moves, false to keep
+     * the first tied move in column order like a sequential scan
+     * @param rng the RNG of the search, split for each chunk
+     * @param exclude the boards to skip moves to, or null to allow every move
+     * @return Move the best move, or null if no move is under the bound
+     */
+    public Move findBest(State state, long bound, boolean randomTies, RandomGenerator rng, RecentStates exclude) {
+        int n = state.getQueensLocation().length;
+        int chunkSize = Math.max(1, n / (this.threads * CHUNKS_PER_THREAD));
+
+        SplittableGenerator root = rng instanceof SplittableGenerator
+                ? (SplittableGenerator) rng : new SplittableRandom(rng.nextLong());
+
+        Move best = this.pool.invoke(new ScanTask(state, bound, randomTies, exclude, 0, n, chunkSize, root));
+
+        return best.column == -1 ? null : best;
+    }
+
+    /**
+     * Stops the worker threads
+     */
+    public void shutdown() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * This class holds the best move of a chunk and how many moves tied with it
+     */
+    public static class Move {
+        public final int column;
+        public final int row;
+        public final long hValue;
+        final long ties;
+
+        /**
+         * Constructor that takes the move and its tie count
+         * @param column the column of the queen to move
+         * @param row the row to move it to
+         * @param hValue the h(n) after the move
+         * @param ties the number of moves with the same h(n)
+         */
+        Move(int column, int row, long hValue, long ties) {
+            this.column = column;
+            this.row = row;
+            this.hValue = hValue;
+            this.ties = ties;
+        }
+    }
+
+    /**
+     * This class scans a range of columns, splitting it in half until it is one chunk
+     */
+    private static class ScanTask extends RecursiveTask<Move> {
+        private final State state;
+        private final long bound;
+        private final boolean randomTies;
+        private final RecentStates exclude;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final SplittableGenerator rng;
+
+        ScanTask(State state, long bound, boolean randomTies, RecentStates exclude, int from, int to,
+                int chunkSize, SplittableGenerator rng) {
+            this.state = state;
+            this.bound = bound;
+            this.randomTies = randomTies;
+            this.exclude = exclude;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.rng = rng;
+        }
+
+        @Override
+        protected Move compute() {
+            if(this.to - this.from <= this.chunkSize) {
+                return this.scanChunk();
+            }
+
+            int mid = (this.from + this.to) >>> 1;
+            ScanTask left = new ScanTask(this.state, this.bound, this.randomTies, this.exclude, this.from, mid, this.chunkSize, this.rng.split());
+            ScanTask right = new ScanTask(this.state, this.bound, this.randomTies, this.exclude, mid, this.to, this.chunkSize, this.rng);
+
+            left.fork();
+            Move rightBest = right.compute();
+
+            return this.reduce(left.join(), rightBest);
+        }
+
+        /**
+         * Scores every move in the chunk, reservoir sampling the tied moves
+         * @return Move the best move in the chunk
+         */
+        private Move scanChunk() {
+            int[] queens = this.state.getQueensLocation();
+            int n = queens.length;
+
+            long bestH = this.bound;
+            int bestColumn = -1;
+            int bestRow = -1;
+            long ties = 0;
+
+            for(int i = this.from; i < this.to; i++) {
+                for(int j = 0; j < n; j++) {
+                    if(queens[i] != j) {
+                        long h = this.state.evaluateMove(i, j);
+
+                        if(h > bestH || (this.exclude != null
+                                && this.exclude.contains(this.state.hashAfterMove(i, j)))) {
+                            continue;
+                        }
+
+                        if(h < bestH) {
+                            bestH = h;
+                            bestColumn = i;
+                            bestRow = j;
+                            ties = 1;
+                        } else if(h == bestH && bestColumn != -1) {
+                            ties++;
+                            if(this.randomTies && this.rng.nextLong(ties) == 0) {
+                                bestColumn = i;
+                                bestRow = j;
+                            }
+                        }
+                    }
+                }
+            }
+
+            return new Move(bestColumn, bestRow, bestH, ties);
+        }
+
+        /**
+         * Combines the best moves of two chunks. Tied chunks are picked in proportion
+         * to how many tied moves they hold, so every tied move is equally likely
+         * @param left the best move of the left chunk
+         * @param right the best move of the right chunk
+         * @return Move the best move of both chunks
+         */
+        private Move reduce(Move left, Move right) {
+            if(right.column == -1 || left.hValue < right.hValue) {
+                return left;
+            }
+            if(left.column == -1 || right.hValue < left.hValue) {
+                return right;
+            }
+
+            long ties = left.ties + right.ties;
+            Move pick = left;
+
+            if(this.randomTies && this.rng.nextLong(ties) < right.ties) {
+                pick = right;
+            }
+
+            return new Move(pick.column, pick.row, pick.hValue, ties);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package nqueens;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * This class races a portfolio of searches on the same board and returns the
+ * first solution. Every entry of the portfolio creates its own search, with its
+ * own strategy or seed, which runs on its own thread. As soon as one of them
+ * reaches h(n) = 0 the rest are cancelled through a shared SearchBudget and stop
+ * at their next step, so the solve only takes as long as the luckiest search.
+ * Searches that stop without a solution, like plain hill climbing, are run again
+ * until the race is over, each run counting as a restart against the budget.
+ * Boards with no solution (n = 2 or 3) are never raced, since without a budget
+ * the race could not end, they get a single hill climb instead
+ * @author James Wooten
+ * @version 1.0
+ */
+public class PortfolioSolver {
+
+    private final List<Supplier<HillClimbSearch>> entries = new ArrayList<>();
+    private final ExecutorService pool;
+
+    /**
+     * Constructor for an empty portfolio
+     */
+    public PortfolioSolver() {
+        this.pool = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "portfolio-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a portfolio that cycles through simulated annealing, min-conflicts,
+     * tabu search and random restart with sideways, each entry with its own seed
+     * @param size the number of searches to race
+     * @param seed the seed of the first entry, the others use the following seeds
+     * @return PortfolioSolver the portfolio
+     */
+    public static PortfolioSolver standard(int size, long seed) {
+        PortfolioSolver portfolio = new PortfolioSolver();
+
+        for(int i = 0; i < size; i++) {
+            int strategy = i % 4;
+            long entrySeed = seed + i;
+
+            portfolio.add(() -> {
+                HillClimbSearch search;
+                if(strategy == 0) {
+                    search = new SimulatedAnnealingSearch(1);
+                } else if(strategy == 1) {
+                    search = new MinConflictsSearch(1);
+                } else if(strategy == 2) {
+                    search = new TabuSearch(1);
+                } else {
+                    search = new HillClimbSearchRandomRestartSideways(1);
+                }
+                search.setSeed(entrySeed);
+                return search;
+            });
+        }
+
+        return portfolio;
+    }
+
+    /**
+     * Adds an entry to the portfolio
+     * @param search creates the configured search of the entry for each solve
+     * @return PortfolioSolver this portfolio
+     */
+    public PortfolioSolver add(Supplier<HillClimbSearch> search) {
+        this.entries.add(search);
+        return this;
+    }
+
+    /**
+     * Getter for the size
+     * @return int the number of searches in the portfolio
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Races every search of the portfolio on a board of size n. Returns the first
+     * solution found, or the best board of all the searches if the budget runs out
+     * first. The budget is never cancelled by the race itself. Without a budget the
+     * race only ends once a board is solved, so n = 2 and 3, which have no solution,
+     * only get the stuck board of a single hill climb. If the calling thread is
+     * interrupted the race is cancelled and its interrupt flag is kept: the result is
+     * then OUT_OF_BUDGET, with the best board of the searches that finished, or a
+     * random board if none did
+     * @param n the desired n value of the NxN board and number of queens
+     * @param budget the deadline, restart limit and cancellation to stop at, or null
+     * @return SolveResult the result of the winning search, never null
+     * @throws IllegalStateException if the portfolio is empty or a search fails
+     */
+    public SolveResult solve(int n, SearchBudget budget) {
+        if(this.entries.isEmpty()) {
+            throw new IllegalStateException("The portfolio has no searches");
+        }
+
+        //STUCK entries would retry forever on a board with no solution
+        if(!ExplicitSolution.exists(n)) {
+            return new HillClimbSearch(1).solve(n, budget);
+        }
+
+        long start = System.nanoTime();
+        SearchBudget race = new SearchBudget(budget);
+        ExecutorCompletionService<SolveResult> finished = new ExecutorCompletionService<>(this.pool);
+
+        for(Supplier<HillClimbSearch> entry : this.entries) {
+            finished.submit(() -> runEntry(entry.get(), n, race));
+        }
+
+        SolveResult best = null;
+
+        try {
+            for(int i = 0; i < this.entries.size(); i++) {
+                SolveResult result = finished.take().get();
+
+                if(best == null || result.getHValue() < best.getHValue()) {
+                    best = result;
+                }
+
+                //First solution wins, the losers stop at their next step
+                if(result.isSolved()) {
+                    break;
+                }
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            //The race was stopped before a solution, like a cancelled budget
+            if(best == null) {
+                best = new SolveResult(new State(n), 0, 0, System.nanoTime() - start,
+                        SolveResult.Outcome.OUT_OF_BUDGET, "PortfolioSolver");
+            } else {
+                best = new SolveResult(best.getBest(), best.getSteps(), best.getRestarts(), best.getWallNanos(),
+                        SolveResult.Outcome.OUT_OF_BUDGET, best.getSearch());
+            }
+        } catch(ExecutionException e) {
+            throw new IllegalStateException("A portfolio search failed", e.getCause());
+        } finally {
+            race.cancel();
+        }
+
+        return best;
+    }
+
+    /**
+     * Runs one search until it solves the board or the race is over
+     * @param search the search to run
+     * @param n the desired n value of the NxN board and number of queens
+     * @param race the budget shared by the race
+     * @return SolveResult the best result of the search
+     */
+    private static SolveResult runEntry(HillClimbSearch search, int n, SearchBudget race) {
+        SolveResult best = search.solve(n, race);
+        int attempts = 0;
+
+        //Searches that get stuck start over with a new board
+        while(best.getOutcome() == SolveResult.Outcome.STUCK && !race.isExhausted(++attempts)) {
+            SolveResult result = search.solve(n, race);
+
+            if(result.isSolved() || result.getHValue() < best.getHValue()) {
+                best = result;
+            }
+            if(result.getOutcome() == SolveResult.Outcome.OUT_OF_BUDGET) {
+                break;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Stops the worker threads
+     */
+    public void shutdown() {
+        this.pool.shutdown();
+    }
+}
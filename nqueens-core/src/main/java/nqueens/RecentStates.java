@@ -0,0 +1,217 @@
+package nqueens;
+
+import java.util.Arrays;
+
+/**
+ * This class is a bounded set of the Zobrist hashes of recently visited states,
+ * with least recently used eviction. Lookups and inserts are O(1) and allocate
+ * nothing: the hashes live in an open addressing table that points at their
+ * entry in a doubly linked list kept in arrays, newest first. Adding a hash that
+ * is already in the set moves it to the front, as when a sideways search falls
+ * back to revisiting a board, so once the set is full the hash evicted is the
+ * one visited longest ago
+ * @author James Wooten
+ * @version 1.0
+ */
+public class RecentStates {
+
+    private final long[] table; //Open addressing table of hashes, 0 marks an empty slot
+    private final int[] tableEntries; //Entry of the hash in each table slot
+    private final int mask;
+    private final long[] hashes; //Hash of each entry
+    private final int[] newer; //Next newer entry of each entry, -1 for the newest
+    private final int[] older; //Next older entry of each entry, -1 for the oldest
+    private int newest = -1; //Entry of the most recently used hash
+    private int oldest = -1; //Entry of the least recently used hash
+    private int size = 0;
+    private int zeroEntry = -1; //Entry of a hash of 0, which cannot go in the table, -1 if none
+
+    /**
+     * Constructor that takes the number of hashes to remember
+     * @param capacity the number of recent states to keep, at least 1
+     */
+    public RecentStates(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(2, 2 * capacity - 1)) << 1;
+        int entries = Math.max(1, capacity);
+
+        this.table = new long[slots];
+        this.tableEntries = new int[slots];
+        this.mask = slots - 1;
+        this.hashes = new long[entries];
+        this.newer = new int[entries];
+        this.older = new int[entries];
+    }
+
+    /**
+     * Checks if a state hash is one of the recent states. A lookup does not count as a use
+     * @param hash the Zobrist hash of the state
+     * @return boolean if the state was visited recently
+     */
+    public boolean contains(long hash) {
+        return this.entryOf(hash) >= 0;
+    }
+
+    /**
+     * Adds a state hash as the most recently used one, evicting the least recently
+     * used hash if the set is full
+     * @param hash the Zobrist hash of the state
+     * @return boolean false if the state was already in the set
+     */
+    public boolean add(long hash) {
+        int entry = this.entryOf(hash);
+
+        if(entry >= 0) {
+            this.unlink(entry);
+            this.linkNewest(entry);
+            return false;
+        }
+
+        if(this.size == this.hashes.length) {
+            entry = this.oldest;
+            this.unlink(entry);
+            this.remove(this.hashes[entry]);
+        } else {
+            entry = this.size++;
+        }
+
+        this.hashes[entry] = hash;
+        this.linkNewest(entry);
+
+        if(hash == 0) {
+            this.zeroEntry = entry;
+            return true;
+        }
+
+        int i = this.slot(hash);
+        while(this.table[i] != 0) {
+            i = (i + 1) & this.mask;
+        }
+        this.table[i] = hash;
+        this.tableEntries[i] = entry;
+        return true;
+    }
+
+    /**
+     * Empties the set
+     */
+    public void clear() {
+        Arrays.fill(this.table, 0);
+        this.newest = -1;
+        this.oldest = -1;
+        this.size = 0;
+        this.zeroEntry = -1;
+    }
+
+    /**
+     * Getter for the size
+     * @return int the number of hashes in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the entry of a hash
+     * @param hash the hash to find
+     * @return int the entry, or -1 if the hash is not in the set
+     */
+    private int entryOf(long hash) {
+        if(hash == 0) {
+            return this.zeroEntry;
+        }
+
+        int i = this.find(hash);
+        return i < 0 ? -1 : this.tableEntries[i];
+    }
+
+    /**
+     * Puts an unlinked entry at the newest end of the list
+     * @param entry the entry
+     */
+    private void linkNewest(int entry) {
+        this.newer[entry] = -1;
+        this.older[entry] = this.newest;
+
+        if(this.newest >= 0) {
+            this.newer[this.newest] = entry;
+        } else {
+            this.oldest = entry;
+        }
+        this.newest = entry;
+    }
+
+    /**
+     * Takes an entry out of the list
+     * @param entry the entry
+     */
+    private void unlink(int entry) {
+        if(this.newer[entry] >= 0) {
+            this.older[this.newer[entry]] = this.older[entry];
+        } else {
+            this.newest = this.older[entry];
+        }
+
+        if(this.older[entry] >= 0) {
+            this.newer[this.older[entry]] = this.newer[entry];
+        } else {
+            this.oldest = this.newer[entry];
+        }
+    }
+
+    /**
+     * Finds the table slot holding a hash
+     * @param hash the non-zero hash to find
+     * @return int the slot, or -1 if the hash is not in the table
+     */
+    private int find(long hash) {
+        int i = this.slot(hash);
+
+        while(this.table[i] != 0) {
+            if(this.table[i] == hash) {
+                return i;
+            }
+            i = (i + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes a hash from the table, shifting back the hashes probed past it so no
+     * tombstones are left
+     * @param hash the hash to remove
+     */
+    private void remove(long hash) {
+        if(hash == 0) {
+            this.zeroEntry = -1;
+            return;
+        }
+
+        int i = this.find(hash);
+        int j = i;
+
+        while(true) {
+            j = (j + 1) & this.mask;
+            if(this.table[j] == 0) {
+                break;
+            }
+
+            //Move the hash back if its home slot is not between the gap and it
+            int home = this.slot(this.table[j]);
+            if(((j - home) & this.mask) >= ((j - i) & this.mask)) {
+                this.table[i] = this.table[j];
+                this.tableEntries[i] = this.tableEntries[j];
+                i = j;
+            }
+        }
+        this.table[i] = 0;
+    }
+
+    /**
+     * Gets the home slot of a hash
+     * @param hash the hash
+     * @return int the slot to start probing at
+     */
+    private int slot(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & this.mask;
+    }
+}
@@ -0,0 +1,92 @@
+package nqueens;
+
+/**
+ * This class limits how long a search may run. It can hold a deadline, a maximum
+ * number of random restarts per round and a cancellation flag that another thread
+ * can set. The searches check it once per step, which costs a volatile read and at
+ * most one System.nanoTime call. One budget can be shared by parallel trials. A
+ * budget can also have a parent, so a group of searches can be cancelled together
+ * without cancelling the budget they were given
+ * @author James Wooten
+ * @version 1.0
+ */
+public class SearchBudget {
+
+    private long deadline = 0; //System.nanoTime value to stop at
+    private boolean hasDeadline = false;
+    private int maxRestarts = Integer.MAX_VALUE; //Restarts allowed per round
+    private volatile boolean cancelled = false;
+    private final SearchBudget parent; //Budget that also stops this one, or null
+
+    /**
+     * Constructor for a budget with no limits until some are set
+     */
+    public SearchBudget() {
+        this(null);
+    }
+
+    /**
+     * Constructor for a budget that is also used up when its parent is
+     * @param parent the budget to stop with, or null for none
+     */
+    public SearchBudget(SearchBudget parent) {
+        this.parent = parent;
+    }
+
+    /** 
+     * Sets a deadline a number of milliseconds from now
+     * @param millis the time allowed in milliseconds
+     * @return SearchBudget this budget
+     */
+    public SearchBudget setTimeout(long millis) {
+        return this.setDeadline(System.nanoTime() + millis * 1_000_000L);
+    }
+
+    /** 
+     * Sets the deadline as a System.nanoTime value
+     * @param deadline the System.nanoTime value to stop at
+     * @return SearchBudget this budget
+     */
+    public SearchBudget setDeadline(long deadline) {
+        this.deadline = deadline;
+        this.hasDeadline = true;
+        return this;
+    }
+
+    /** 
+     * Sets the number of random restarts allowed in a round
+     * @param maxRestarts the restarts allowed
+     * @return SearchBudget this budget
+     */
+    public SearchBudget setMaxRestarts(int maxRestarts) {
+        this.maxRestarts = maxRestarts;
+        return this;
+    }
+
+    /**
+     * Cancels every search using this budget at its next step
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /** 
+     * Checks if the budget was cancelled
+     * @return boolean if cancel was called
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** 
+     * Checks if the search has to stop
+     * @param restarts the restarts used so far in the round
+     * @return boolean if cancelled, past the deadline, over the restart limit or the parent is used up
+     */
+    public boolean isExhausted(int restarts) {
+        return this.cancelled
+                || restarts > this.maxRestarts
+                || (this.hasDeadline && System.nanoTime() - this.deadline >= 0)
+                || (this.parent != null && this.parent.isExhausted(restarts));
+    }
+}
@@ -0,0 +1,242 @@
+package nqueens;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class collects the per-trial results of a search run and summarizes them
+ * with averages, percentiles and a histogram of the steps. The results can be
+ * exported as JSON or as CSV rows for dashboards. Trials are stored by their
+ * simulation number, so parallel trials can record without locking
+ * @author James Wooten
+ * @version 1.0
+ */
+public class SearchMetrics {
+
+    static final String CSV_HEADER = "search,n,trial,success,h,steps,restarts,sideways_moves,wall_ns,ns_per_step,allocated_bytes";
+    static final double[] PERCENTILES = {50, 90, 99};
+
+    private final String search; //Name of the search
+    private final int n; //Board size
+    private final TrialResult[] trials; //Result of each trial by simulation number
+
+    /**
+     * Constructor that takes in the search name, board size and number of trials
+     * @param search the name of the search
+     * @param n the board size
+     * @param numSimulations the number of trials
+     */
+    public SearchMetrics(String search, int n, int numSimulations) {
+        this.search = search;
+        this.n = n;
+        this.trials = new TrialResult[numSimulations];
+    }
+
+    /** 
+     * Records the result of a trial
+     * @param result the result to record
+     */
+    public void record(TrialResult result) {
+        this.trials[result.getSimNum()] = result;
+    }
+
+    /** 
+     * Getter for the trial results
+     * @return TrialResult[] the results by simulation number
+     */
+    public TrialResult[] getTrials() {
+        return trials;
+    }
+
+    /** 
+     * Counts the recorded trials
+     * @return int the number of trials
+     */
+    public int getTrialCount() {
+        int count = 0;
+        for(TrialResult t : this.trials) {
+            if(t != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** 
+     * Counts the successful trials
+     * @return int the number of successes
+     */
+    public int getSuccesses() {
+        int successes = 0;
+        for(TrialResult t : this.trials) {
+            if(t != null && t.isSuccess()) {
+                successes++;
+            }
+        }
+        return successes;
+    }
+
+    /** 
+     * Finds a percentile of a measurement over all trials with the nearest-rank method
+     * @param measure the measurement to read from each trial
+     * @param percentile the percentile, from 0 to 100
+     * @return long the value at the percentile, 0 with no trials
+     */
+    public long percentile(ToLongFunction<TrialResult> measure, double percentile) {
+        long[] values = this.values(measure);
+        if(values.length == 0) {
+            return 0;
+        }
+        Arrays.sort(values);
+        int rank = (int) Math.ceil(percentile / 100.0 * values.length);
+        return values[Math.max(0, rank - 1)];
+    }
+
+    /** 
+     * Averages a measurement over all trials
+     * @param measure the measurement to read from each trial
+     * @return double the mean, 0 with no trials
+     */
+    public double mean(ToLongFunction<TrialResult> measure) {
+        long[] values = this.values(measure);
+        if(values.length == 0) {
+            return 0;
+        }
+        double total = 0;
+        for(long v : values) {
+            total += v;
+        }
+        return total / values.length;
+    }
+
+    /** 
+     * Builds a histogram of the steps with power of two buckets. Bucket i counts
+     * the trials with fewer than 2^i steps that are not in an earlier bucket
+     * @return long[] the count of each bucket
+     */
+    public long[] stepsHistogram() {
+        long[] buckets = new long[32];
+        int used = 1;
+
+        for(TrialResult t : this.trials) {
+            if(t != null) {
+                int bucket = 32 - Integer.numberOfLeadingZeros(t.getSteps());
+                buckets[bucket]++;
+                used = Math.max(used, bucket + 1);
+            }
+        }
+
+        return Arrays.copyOf(buckets, used);
+    }
+
+    /** 
+     * Reads a measurement from every recorded trial
+     * @param measure the measurement to read
+     * @return long[] the values
+     */
+    private long[] values(ToLongFunction<TrialResult> measure) {
+        return Arrays.stream(this.trials).filter(t -> t != null).mapToLong(measure).toArray();
+    }
+
+    /** 
+     * Summarizes a measurement as a JSON object with the mean, percentiles and max
+     * @param measure the measurement to read from each trial
+     * @return String the JSON object
+     */
+    private String summaryJson(ToLongFunction<TrialResult> measure) {
+        StringBuilder json = new StringBuilder("{\"mean\":").append(this.mean(measure));
+        for(double p : PERCENTILES) {
+            json.append(",\"p").append((int) p).append("\":").append(this.percentile(measure, p));
+        }
+        json.append(",\"max\":").append(this.percentile(measure, 100)).append('}');
+        return json.toString();
+    }
+
+    /** 
+     * Exports the summary and every trial as a JSON object
+     * @return String the JSON object
+     */
+    public String toJson() {
+        int successes = this.getSuccesses();
+        long[] histogram = this.stepsHistogram();
+        long totalSteps = 0;
+        long totalNanos = 0;
+
+        for(TrialResult t : this.trials) {
+            if(t != null) {
+                totalSteps += t.getSteps();
+                totalNanos += t.getWallNanos();
+            }
+        }
+
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"search\":\"").append(this.search).append('"');
+        json.append(",\"n\":").append(this.n);
+        json.append(",\"simulations\":").append(this.trials.length);
+        json.append(",\"successes\":").append(successes);
+        json.append(",\"failures\":").append(this.getTrialCount() - successes);
+        json.append(",\"steps\":").append(this.summaryJson(TrialResult::getSteps));
+        json.append(",\"restarts\":").append(this.summaryJson(TrialResult::getRestarts));
+        json.append(",\"sidewaysMoves\":").append(this.summaryJson(TrialResult::getSidewaysMoves));
+        json.append(",\"wallNanos\":").append(this.summaryJson(TrialResult::getWallNanos));
+        json.append(",\"nanosPerStep\":").append(totalSteps == 0 ? 0 : (double) totalNanos / totalSteps);
+        json.append(",\"allocatedBytes\":").append(this.summaryJson(TrialResult::getAllocatedBytes));
+
+        json.append(",\"stepsHistogram\":{");
+        for(int i = 0; i < histogram.length; i++) {
+            json.append(i == 0 ? "" : ",").append("\"<").append(1L << i).append("\":").append(histogram[i]);
+        }
+        json.append('}');
+
+        json.append(",\"trials\":[");
+        boolean first = true;
+        for(TrialResult t : this.trials) {
+            if(t == null) {
+                continue;
+            }
+            json.append(first ? "" : ",");
+            json.append("{\"trial\":").append(t.getSimNum());
+            json.append(",\"h\":").append(t.getHValue());
+            json.append(",\"steps\":").append(t.getSteps());
+            json.append(",\"restarts\":").append(t.getRestarts());
+            json.append(",\"sidewaysMoves\":").append(t.getSidewaysMoves());
+            json.append(",\"wallNanos\":").append(t.getWallNanos());
+            json.append(",\"allocatedBytes\":").append(t.getAllocatedBytes()).append('}');
+            first = false;
+        }
+        json.append("]}");
+
+        return json.toString();
+    }
+
+    /** 
+     * Getter for the CSV header matching toCsv
+     * @return String the CSV header line
+     */
+    public static String csvHeader() {
+        return CSV_HEADER;
+    }
+
+    /** 
+     * Exports every trial as a CSV row, without the header
+     * @return String the CSV rows, one per line
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder();
+
+        for(TrialResult t : this.trials) {
+            if(t == null) {
+                continue;
+            }
+            csv.append(this.search).append(',').append(this.n).append(',').append(t.getSimNum())
+                    .append(',').append(t.isSuccess()).append(',').append(t.getHValue())
+                    .append(',').append(t.getSteps()).append(',').append(t.getRestarts())
+                    .append(',').append(t.getSidewaysMoves()).append(',').append(t.getWallNanos())
+                    .append(',').append(String.format(Locale.ROOT, "%.1f", t.getNanosPerStep()))
+                    .append(',').append(t.getAllocatedBytes()).append('\n');
+        }
+
+        return csv.toString();
+    }
+}
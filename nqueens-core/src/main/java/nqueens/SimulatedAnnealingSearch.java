@@ -0,0 +1,315 @@
+package nqueens;
+
+import java.util.Arrays;
+
+/**
+ * This class represents Simulated Annealing. Instead of scanning the whole
+ * neighborhood, every iteration samples one random move, scores it in O(1) with
+ * the state's conflict counters and accepts it if it is no worse, or with a
+ * chance of e^(-delta / temperature) if it is. The temperature follows a
+ * CoolingSchedule and is lowered once every n iterations. Once the schedule is
+ * frozen the board is randomly restarted and the schedule reset. The sampled
+ * queen is drawn in O(1) from a set that holds every attacked column, so late
+ * iterations are not spent on queens that are already safe. A move can only
+ * attack a queen that was alone on one of the lines the moved queen lands on,
+ * and an XOR of the columns on each line names that queen, so the set is kept
+ * up to date in O(1) per move. Queens that a move leaves safe are dropped when
+ * they are drawn. It is an
+ * extension of the HillClimbSearch Class and reports through the same stats,
+ * where every sampled move counts as a step
+ * @author James Wooten
+ * @version 1.0
+ */
+public class SimulatedAnnealingSearch extends HillClimbSearch {
+
+    protected CoolingSchedule schedule = CoolingSchedule.of("adaptive");
+    private int[] conflicted; //Every attacked column, and some that are safe by now
+    private int[] slot; //Index of each column in conflicted, -1 if it is not there
+    private int conflictedSize = 0; //Number of columns in conflicted
+    private int[] lineCounts; //Queens on each row, then diagonal, then anti-diagonal
+    private int[] lineXors; //XOR of the columns of the queens on each line
+
+    /**
+     * Constructor that takes in the number of simulations to run
+     * @param n the num of simulations to run
+     */
+    public SimulatedAnnealingSearch(int n) {
+        super(n);
+    }
+
+    /**
+     * Creates a fresh search of this type for a single parallel trial
+     * @return HillClimbSearch the new search
+     */
+    @Override
+    protected HillClimbSearch newTrial() {
+        return new SimulatedAnnealingSearch(1);
+    }
+
+    /**
+     * Copies the settings of this search onto a parallel trial, with its own copy of the schedule
+     * @param trial the search that runs the trial
+     * @param simNum the trial number
+     */
+    @Override
+    protected void configureTrial(HillClimbSearch trial, int simNum) {
+        super.configureTrial(trial, simNum);
+        ((SimulatedAnnealingSearch) trial).schedule = this.schedule.copy();
+    }
+
+    /**
+     * Sets the cooling schedule
+     * @param schedule the schedule to follow
+     */
+    public void setSchedule(CoolingSchedule schedule) {
+        this.schedule = schedule;
+    }
+
+    /**
+     * Samples and accepts moves until the board is solved or the budget runs out
+     * @param simNum the current simulation number
+     */
+    @Override
+    protected void simRound(int simNum) {
+        int count = 0;
+        int sweep = 0;
+        int uphill = 0;
+        int uphillAccepted = 0;
+
+        this.schedule.reset();
+        this.collectConflicted();
+        traceStart(simNum);
+
+        //Until the board is solved or the budget runs out
+        while(this.current.getHValue() != 0 && !this.isOutOfBudget()) {
+            int column = this.pickColumn();
+
+            //Any row but the one the queen is on
+            int row = this.rng.nextInt(this.n - 1);
+            if(row >= this.current.getQueensLocation()[column]) {
+                row++;
+            }
+
+            long delta = this.current.evaluateMove(column, row) - this.current.getHValue();
+            boolean accept = delta <= 0;
+
+            if(delta > 0) {
+                uphill++;
+                accept = this.rng.nextDouble() < Math.exp(-delta / this.schedule.getTemperature());
+                if(accept) {
+                    uphillAccepted++;
+                }
+            }
+            count++;
+
+            if(accept) {
+                int fromRow = this.current.getQueensLocation()[column];
+                this.current.applyMove(column, row);
+                this.moveQueen(column, fromRow, row);
+                if(delta == 0) {
+                    this.numSidewaysMoves++;
+                }
+                printPaths(simNum, count);
+            }
+
+            //Cool down once per sweep of n moves and restart once frozen
+            if(++sweep == this.n) {
+                this.schedule.cool(uphill == 0 ? 0 : (double) uphillAccepted / uphill);
+                sweep = 0;
+                uphill = 0;
+                uphillAccepted = 0;
+
+                if(this.schedule.isFrozen() && this.current.getHValue() != 0) {
+                    this.restart();
+                    this.schedule.reset();
+                }
+            }
+        }
+
+        printSuccessFail(simNum);
+        checkStats(count);
+    }
+
+    /**
+     * Re-randomizes the current state and rescans it for attacked columns
+     */
+    @Override
+    protected void restart() {
+        super.restart();
+        this.collectConflicted();
+    }
+
+    /**
+     * Draws a random column from the attacked ones, dropping drawn columns that are safe by now
+     * @return int the column of the queen to move
+     */
+    private int pickColumn() {
+        while(true) {
+            //Only a solved board has no attacked queen
+            if(this.conflictedSize == 0) {
+                return this.rng.nextInt(this.n);
+            }
+
+            int k = this.rng.nextInt(this.conflictedSize);
+            int column = this.conflicted[k];
+
+            if(this.current.getConflicts(column) > 0) {
+                return column;
+            }
+            this.removeConflicted(k);
+        }
+    }
+
+    /**
+     * Recounts the lines of the board, filling the set with every column whose queen is attacked
+     */
+    private void collectConflicted() {
+        if(this.conflicted == null || this.conflicted.length != this.n) {
+            this.conflicted = new int[this.n];
+            this.slot = new int[this.n];
+            this.lineCounts = new int[5 * this.n - 2];
+            this.lineXors = new int[5 * this.n - 2];
+        }
+
+        Arrays.fill(this.slot, -1);
+        Arrays.fill(this.lineCounts, 0);
+        Arrays.fill(this.lineXors, 0);
+        this.conflictedSize = 0;
+
+        int[] queens = this.current.getQueensLocation();
+        for(int i = 0; i < this.n; i++) {
+            this.addToLine(this.rowLine(queens[i]), i);
+            this.addToLine(this.diagLine(queens[i], i), i);
+            this.addToLine(this.antiDiagLine(queens[i], i), i);
+        }
+    }
+
+    /**
+     * Moves a queen between the lines of two rows and adds every queen it now attacks
+     * to the set, which are the queens that were alone on a line it lands on
+     * @param column the column of the moved queen
+     * @param fromRow the row it left
+     * @param toRow the row it moved to
+     */
+    private void moveQueen(int column, int fromRow, int toRow) {
+        this.removeFromLine(this.rowLine(fromRow), column);
+        this.removeFromLine(this.diagLine(fromRow, column), column);
+        this.removeFromLine(this.antiDiagLine(fromRow, column), column);
+
+        this.addToLine(this.rowLine(toRow), column);
+        this.addToLine(this.diagLine(toRow, column), column);
+        this.addToLine(this.antiDiagLine(toRow, column), column);
+    }
+
+    /**
+     * Adds a queen to a line, adding it and the queen alone there before to the set
+     * @param line the index of the line
+     * @param column the column of the queen
+     */
+    private void addToLine(int line, int column) {
+        this.lineCounts[line]++;
+        this.lineXors[line] ^= column;
+
+        if(this.lineCounts[line] == 2) {
+            this.addConflicted(this.lineXors[line] ^ column);
+        }
+        if(this.lineCounts[line] >= 2) {
+            this.addConflicted(column);
+        }
+    }
+
+    /**
+     * Removes a queen from a line
+     * @param line the index of the line
+     * @param column the column of the queen
+     */
+    private void removeFromLine(int line, int column) {
+        this.lineCounts[line]--;
+        this.lineXors[line] ^= column;
+    }
+
+    /**
+     * Gets the line index of a row
+     * @param row the row
+     * @return int the index in the line arrays
+     */
+    private int rowLine(int row) {
+        return row;
+    }
+
+    /**
+     * Gets the line index of the diagonal (row - column) of a square
+     * @param row the row of the square
+     * @param column the column of the square
+     * @return int the index in the line arrays
+     */
+    private int diagLine(int row, int column) {
+        return this.n + row - column + this.n - 1;
+    }
+
+    /**
+     * Gets the line index of the anti-diagonal (row + column) of a square
+     * @param row the row of the square
+     * @param column the column of the square
+     * @return int the index in the line arrays
+     */
+    private int antiDiagLine(int row, int column) {
+        return 3 * this.n - 1 + row + column;
+    }
+
+    /**
+     * Adds a column to the set if it is not there yet
+     * @param column the column to add
+     */
+    private void addConflicted(int column) {
+        if(this.slot[column] == -1) {
+            this.slot[column] = this.conflictedSize;
+            this.conflicted[this.conflictedSize++] = column;
+        }
+    }
+
+    /**
+     * Removes the column at an index of the set by moving the last column into its place
+     * @param k the index to remove
+     */
+    private void removeConflicted(int k) {
+        int removed = this.conflicted[k];
+        int last = this.conflicted[--this.conflictedSize];
+
+        this.conflicted[k] = last;
+        this.slot[last] = k;
+        this.slot[removed] = -1;
+    }
+
+    /**
+     * Prints out the name of the search type
+     */
+    @Override
+    public void printSearchType() {
+        System.out.println();
+        System.out.println("-----SIMULATED ANNEALING RESULTS-----");
+    }
+
+    /**
+     * Prints the simulation stats including the random restart count
+     */
+    @Override
+    public void printResults() {
+
+        this.printSearchType();
+
+        if(this.successes > 0) {
+            System.out.println("Number of Simulations: " + this.numSimulations);
+            System.out.println("Number of Restarts: " + this.numRestarts);
+            System.out.println("Number of Successes: " + this.successes);
+            System.out.println("Number of Moves: " + this.numStepsSuccess);
+            System.out.println("Average Steps for Success: " +  (double) this.numStepsSuccess / this.successes);
+        }
+
+        if(this.failures > 0) {
+            System.out.println("Number of Failures: " + this.failures);
+            System.out.println("Number of Moves: " + this.numStepsFail);
+            System.out.println("Average Steps for Failure: " + (double) this.numStepsFail / this.failures);
+        }
+    }
+}
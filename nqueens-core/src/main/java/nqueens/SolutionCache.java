@@ -0,0 +1,283 @@
+package nqueens;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * This class caches solved boards by n in front of the solvers. Each board is
+ * stored once per symmetry class, as the smallest of its 8 rotations and
+ * reflections (the D4 canonical form), and a hit hands out a random one of the
+ * 8, so repeat solves cost O(n) and still vary. Memory is bounded by the total
+ * number of stored queens: when a put goes over it, the n used least recently
+ * is evicted. Lookups take no lock, a board list is replaced rather than changed,
+ * and only puts and evictions are synchronized
+ * @author James Wooten
+ * @version 1.0
+ */
+public class SolutionCache {
+
+    static final int SYMMETRIES = 8; //Rotations and reflections of a square
+
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final long maxQueens; //Most queens stored across every n
+    private final int maxPerN; //Most symmetry classes stored for one n
+    private long storedQueens = 0; //Guarded by this
+    private final AtomicLong clock = new AtomicLong(); //Orders the uses of the entries
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * This class holds the canonical boards of one n and when it was last used
+     */
+    private static class Entry {
+        volatile int[][] boards;
+        volatile long lastUsed;
+
+        Entry(int[] board, long lastUsed) {
+            this.boards = new int[][] {board};
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    /**
+     * Constructor that takes the size limits
+     * @param maxQueens the most queens to store across every n
+     * @param maxPerN the most symmetry classes to store for one n
+     */
+    public SolutionCache(long maxQueens, int maxPerN) {
+        this.maxQueens = maxQueens;
+        this.maxPerN = maxPerN;
+    }
+
+    /**
+     * Gets a random symmetric variant of a cached board
+     * @param n the number of queens and NxN board
+     * @param rng the RNG to pick the board and symmetry with
+     * @return State a solved board, or null if none is cached for n
+     */
+    public State get(int n, RandomGenerator rng) {
+        Entry entry = this.entries.get(n);
+
+        if(entry == null) {
+            this.misses.increment();
+            return null;
+        }
+
+        entry.lastUsed = this.clock.incrementAndGet();
+        this.hits.increment();
+
+        int[][] boards = entry.boards;
+        int[] board = boards[rng.nextInt(boards.length)];
+        return new State(transform(board, rng.nextInt(SYMMETRIES)));
+    }
+
+    /**
+     * Gets a cached board, or solves one and caches it on a miss
+     * @param n the number of queens and NxN board
+     * @param solver solves a board of size n, such as a search or the portfolio
+     * @param rng the RNG to pick the board and symmetry with
+     * @return State the cached board, or what the solver returned, solved or not
+     */
+    public State solve(int n, IntFunction<State> solver, RandomGenerator rng) {
+        State cached = this.get(n, rng);
+
+        if(cached != null) {
+            return cached;
+        }
+
+        State solved = solver.apply(n);
+        this.put(solved);
+        return solved;
+    }
+
+    /**
+     * Stores the canonical form of a solved board. Unsolved boards, boards already
+     * in the cache and boards over the per n limit are ignored
+     * @param state the solved state
+     * @return boolean if the board was stored
+     */
+    public boolean put(State state) {
+        if(state == null || state.getHValue() != 0) {
+            return false;
+        }
+
+        int[] board = canonical(state.getQueensLocation());
+        int n = board.length;
+
+        if(n > this.maxQueens) {
+            return false;
+        }
+
+        synchronized(this) {
+            Entry entry = this.entries.get(n);
+
+            if(entry == null) {
+                this.entries.put(n, new Entry(board, this.clock.incrementAndGet()));
+            } else {
+                int[][] boards = entry.boards;
+                if(boards.length >= this.maxPerN) {
+                    return false;
+                }
+                for(int[] stored : boards) {
+                    if(Arrays.equals(stored, board)) {
+                        return false;
+                    }
+                }
+
+                int[][] grown = Arrays.copyOf(boards, boards.length + 1);
+                grown[boards.length] = board;
+                entry.boards = grown;
+                entry.lastUsed = this.clock.incrementAndGet();
+            }
+
+            this.storedQueens += n;
+            this.evict(n);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the least recently used n until the stored queens fit the limit,
+     * never the n that was just stored
+     * @param keep the n to keep
+     */
+    private void evict(int keep) {
+        while(this.storedQueens > this.maxQueens) {
+            int oldest = -1;
+            long oldestUse = Long.MAX_VALUE;
+
+            for(Map.Entry<Integer, Entry> e : this.entries.entrySet()) {
+                if(e.getKey() != keep && e.getValue().lastUsed < oldestUse) {
+                    oldest = e.getKey();
+                    oldestUse = e.getValue().lastUsed;
+                }
+            }
+
+            if(oldest == -1) {
+                return;
+            }
+
+            Entry removed = this.entries.remove(oldest);
+            this.storedQueens -= (long) oldest * removed.boards.length;
+        }
+    }
+
+    /**
+     * Stores every board of a solution file, so the cache starts warm. Boards are
+     * checked before they are stored and the limits apply as they do for put
+     * @param file the mapped solution file
+     * @return int the number of boards stored
+     */
+    public int load(SolutionFile file) {
+        int stored = 0;
+
+        for(int section = 0; section < file.getSections(); section++) {
+            for(int i = 0; i < file.getCount(section); i++) {
+                if(this.put(new State(file.read(section, i)))) {
+                    stored++;
+                }
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Writes every cached board to a solution file
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        List<int[]> boards = new ArrayList<>();
+
+        for(Entry entry : this.entries.values()) {
+            boards.addAll(Arrays.asList(entry.boards));
+        }
+        SolutionFile.write(path, boards);
+    }
+
+    /**
+     * Getter for the number of board sizes cached
+     * @return int the number of n with a cached board
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Getter for the hits
+     * @return long the number of gets that found a board
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Getter for the misses
+     * @return long the number of gets that found no board
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Finds the canonical form of a solved board: the smallest of its 8 symmetric
+     * variants compared column by column
+     * @param queens the row of the queen in each column, one queen per row
+     * @return int[] the canonical queen locations
+     */
+    public static int[] canonical(int[] queens) {
+        int[] best = transform(queens, 0);
+
+        for(int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            int[] variant = transform(queens, symmetry);
+            if(Arrays.compare(variant, best) < 0) {
+                best = variant;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Applies one of the 8 symmetries of the square to a board with one queen per row.
+     * Bit 4 transposes the board, bit 1 flips the rows and bit 2 flips the columns,
+     * which together make every rotation and reflection
+     * @param queens the row of the queen in each column, one queen per row
+     * @param symmetry the symmetry, 0 to 7
+     * @return int[] the new queen locations
+     */
+    public static int[] transform(int[] queens, int symmetry) {
+        int n = queens.length;
+        int[] result = new int[n];
+
+        for(int column = 0; column < n; column++) {
+            int row = queens[column];
+            int c = column;
+
+            //Transposing swaps the roles of the row and column
+            if((symmetry & 4) != 0) {
+                c = row;
+                row = column;
+            }
+            if((symmetry & 1) != 0) {
+                row = n - 1 - row;
+            }
+            if((symmetry & 2) != 0) {
+                c = n - 1 - c;
+            }
+
+            result[c] = row;
+        }
+
+        return result;
+    }
+}
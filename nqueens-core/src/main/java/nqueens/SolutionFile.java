@@ -0,0 +1,311 @@
+package nqueens;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * This class reads and writes sets of solved boards in a compact binary file,
+ * so the solutions of one run can warm up the next. Every queen location is
+ * packed into ceil(log2 n) bits. A file is read back through a read-only memory
+ * map: the checksum is computed over the mapped bytes and boards are unpacked
+ * straight from them, so nothing is copied into the heap until a board is asked for.
+ * Every row is checked to be on the board when a file is written and opened
+ *
+ * The file is big-endian: the magic "NQSF", a short version and a short of 0,
+ * an int section count, then for every board size an int n, an int board count,
+ * a byte of bits per queen and the packed boards, and last a CRC32C of all the
+ * bytes before it
+ * @author James Wooten
+ * @version 1.0
+ */
+public class SolutionFile {
+
+    static final int MAGIC = 0x4E515346; //"NQSF"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 12; //Magic, version, padding and section count
+    static final int SECTION_BYTES = 9; //n, board count and bits per queen
+    static final int CHECKSUM_BYTES = 8;
+
+    private final MappedByteBuffer buffer;
+    private final int[] sizes; //n of each section
+    private final int[] counts; //Boards in each section
+    private final int[] bits; //Bits per queen in each section
+    private final long[] offsets; //Byte offset of the boards of each section
+
+    /**
+     * Constructor that takes the mapped file, already checked, and its section index
+     */
+    private SolutionFile(MappedByteBuffer buffer, int[] sizes, int[] counts, int[] bits, long[] offsets) {
+        this.buffer = buffer;
+        this.sizes = sizes;
+        this.counts = counts;
+        this.bits = bits;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Gets the bits needed for a queen location of a board
+     * @param n the number of queens and NxN board
+     * @return int ceil(log2 n), at least 1
+     */
+    static int bitsPerQueen(int n) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(n - 1));
+    }
+
+    /**
+     * Writes boards to a file, grouped by n in the order they first appear. The file
+     * is written next to the target and moved over it, so readers never see half a file,
+     * and removed again if the write or the move fails
+     * @param path the file to write
+     * @param boards the queen locations of the boards
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a board has a row off the board, which would corrupt the packed bits
+     */
+    public static void write(Path path, Collection<int[]> boards) throws IOException {
+        Map<Integer, List<int[]>> sections = new LinkedHashMap<>();
+        for(int[] board : boards) {
+            for(int column = 0; column < board.length; column++) {
+                if(board[column] < 0 || board[column] >= board.length) {
+                    throw new IllegalArgumentException("Row " + board[column] + " of column " + column + " is off the board");
+                }
+            }
+            sections.computeIfAbsent(board.length, k -> new ArrayList<>()).add(board);
+        }
+
+        long size = HEADER_BYTES + CHECKSUM_BYTES;
+        for(Map.Entry<Integer, List<int[]>> section : sections.entrySet()) {
+            long packedBits = (long) section.getValue().size() * section.getKey() * bitsPerQueen(section.getKey());
+            size += SECTION_BYTES + (packedBits + 7) / 8;
+        }
+        if(size > Integer.MAX_VALUE) {
+            throw new IOException("Too many boards for one solution file: " + size + " bytes");
+        }
+
+        ByteBuffer out = ByteBuffer.allocate((int) size);
+        out.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(sections.size());
+
+        for(Map.Entry<Integer, List<int[]>> section : sections.entrySet()) {
+            int n = section.getKey();
+            int width = bitsPerQueen(n);
+
+            out.putInt(n).putInt(section.getValue().size()).put((byte) width);
+
+            //Pack the queens MSB first through a 64-bit accumulator
+            long pending = 0;
+            int pendingBits = 0;
+
+            for(int[] board : section.getValue()) {
+                for(int row : board) {
+                    pending = (pending << width) | row;
+                    pendingBits += width;
+
+                    while(pendingBits >= 8) {
+                        pendingBits -= 8;
+                        out.put((byte) (pending >>> pendingBits));
+                    }
+                }
+            }
+            if(pendingBits > 0) {
+                out.put((byte) (pending << (8 - pendingBits)));
+            }
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(out.array(), 0, out.position());
+        out.putLong(crc.getValue());
+        out.flip();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while(out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch(IOException | RuntimeException e) {
+            //Do not leave half a file behind
+            try {
+                Files.deleteIfExists(temp);
+            } catch(IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Maps a solution file and checks its header and checksum
+     * @param path the file to read
+     * @return SolutionFile the mapped file
+     * @throws IOException if the file cannot be read or is not a valid solution file
+     */
+    public static SolutionFile open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Solution file is too large: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int limit = buffer.limit();
+        if(limit < HEADER_BYTES + CHECKSUM_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a solution file: " + path);
+        }
+        if(buffer.getShort(4) != VERSION) {
+            throw new IOException("Unknown solution file version " + buffer.getShort(4) + ": " + path);
+        }
+
+        //Checksum the mapped bytes without copying them
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, limit - CHECKSUM_BYTES));
+        if(crc.getValue() != buffer.getLong(limit - CHECKSUM_BYTES)) {
+            throw new IOException("Solution file checksum does not match: " + path);
+        }
+
+        //Every section takes at least its header, so the count also can't exceed the file
+        int sectionCount = buffer.getInt(8);
+        if(sectionCount < 0 || sectionCount > (limit - HEADER_BYTES - CHECKSUM_BYTES) / SECTION_BYTES) {
+            throw new IOException("Solution file has a bad section count " + sectionCount + ": " + path);
+        }
+
+        int[] sizes = new int[sectionCount];
+        int[] counts = new int[sectionCount];
+        int[] bits = new int[sectionCount];
+        long[] offsets = new long[sectionCount];
+        long position = HEADER_BYTES;
+
+        for(int i = 0; i < sectionCount; i++) {
+            if(position + SECTION_BYTES > limit - CHECKSUM_BYTES) {
+                throw new IOException("Solution file is truncated: " + path);
+            }
+            sizes[i] = buffer.getInt((int) position);
+            counts[i] = buffer.getInt((int) position + 4);
+            bits[i] = buffer.get((int) position + 8);
+            offsets[i] = position + SECTION_BYTES;
+
+            if(sizes[i] < 1 || counts[i] < 0 || bits[i] != bitsPerQueen(sizes[i])) {
+                throw new IOException("Solution file has a bad section header: " + path);
+            }
+            position = offsets[i] + ((long) counts[i] * sizes[i] * bits[i] + 7) / 8;
+        }
+        if(position != limit - CHECKSUM_BYTES) {
+            throw new IOException("Solution file size does not match its sections: " + path);
+        }
+
+        //Unless n is a power of two the packed bits can hold rows off the board
+        for(int i = 0; i < sectionCount; i++) {
+            if(1L << bits[i] != sizes[i] && !rowsOnBoard(buffer, sizes[i], counts[i], bits[i], offsets[i])) {
+                throw new IOException("Solution file has a row off the board: " + path);
+            }
+        }
+
+        return new SolutionFile(buffer, sizes, counts, bits, offsets);
+    }
+
+    /**
+     * Checks that every packed row of a section is less than n
+     * @param buffer the mapped file
+     * @param n the n of the section
+     * @param count the boards in the section
+     * @param width the bits per queen
+     * @param offset the byte offset of the boards
+     * @return boolean if every row is on the board
+     */
+    private static boolean rowsOnBoard(MappedByteBuffer buffer, int n, int count, int width, long offset) {
+        long bit = offset * 8;
+        long rows = (long) count * n;
+
+        for(long k = 0; k < rows; k++, bit += width) {
+            if(unpack(buffer, bit, width) >= n) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Unpacks one packed row, MSB first, from the 64 bits starting at its byte. A row
+     * starts at most 7 bits into its byte and is at most 31 bits wide, so it always
+     * fits in the window, and the checksum after the last section keeps the window
+     * inside the file
+     * @param buffer the mapped file
+     * @param bit the bit offset of the row
+     * @param width the bits per queen
+     * @return int the row
+     */
+    private static int unpack(MappedByteBuffer buffer, long bit, int width) {
+        long window = buffer.getLong((int) (bit >>> 3));
+        return (int) ((window << (bit & 7)) >>> (64 - width));
+    }
+
+    /**
+     * Getter for the number of sections
+     * @return int the number of board sizes in the file
+     */
+    public int getSections() {
+        return this.sizes.length;
+    }
+
+    /**
+     * Gets the board size of a section
+     * @param section the section
+     * @return int the n of its boards
+     */
+    public int getN(int section) {
+        return this.sizes[section];
+    }
+
+    /**
+     * Gets the number of boards in a section
+     * @param section the section
+     * @return int the number of boards
+     */
+    public int getCount(int section) {
+        return this.counts[section];
+    }
+
+    /**
+     * Unpacks one board into an array, so a reader can reuse the same array
+     * @param section the section of the board
+     * @param index the board within the section
+     * @param queens the array of length n to fill with the row of the queen in each column
+     */
+    public void read(int section, int index, int[] queens) {
+        int n = this.sizes[section];
+        int width = this.bits[section];
+        long bit = this.offsets[section] * 8 + (long) index * n * width;
+
+        for(int column = 0; column < n; column++, bit += width) {
+            queens[column] = unpack(this.buffer, bit, width);
+        }
+    }
+
+    /**
+     * Unpacks one board into a new array
+     * @param section the section of the board
+     * @param index the board within the section
+     * @return int[] the row of the queen in each column
+     */
+    public int[] read(int section, int index) {
+        int[] queens = new int[this.sizes[section]];
+        this.read(section, index, queens);
+        return queens;
+    }
+}
@@ -0,0 +1,414 @@
+package nqueens;
+
+import java.nio.IntBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class produces solved boards of one n for as long as they are wanted.
+ * Worker threads run their own search over and over and put every solution into
+ * a bounded buffer; when the buffer is full they block, so the workers never
+ * get further ahead of the consumer than the buffer size. Nothing runs until
+ * the first board is asked for. Boards can be taken through an Iterator, a
+ * Stream or a Flow.Publisher, whose subscribers get no more boards than they
+ * requested. With distinct set, a board that was already handed out is dropped.
+ * Small boards are counted first by backtracking, so a distinct stream
+ * ends once every solution has been handed out, and a board with no solution ends
+ * at once. If a worker fails, the other workers are stopped, the boards already
+ * solved are still handed out and then hasNext throws the failure. Close the
+ * stream to stop the workers
+ * @author James Wooten
+ * @version 1.0
+ */
+public class SolutionStream implements Iterator<State>, AutoCloseable {
+
+    static final int DEFAULT_BUFFER = 64; //Solved boards held ahead of the consumer
+    static final int MAX_COUNTED_N = 12; //Largest n whose solutions are counted to know when a distinct stream ends
+    static final long POLL_MILLIS = 100; //How often a waiting consumer checks if every worker stopped
+
+    private static final State END = new State(new int[1]); //Marks that the workers are done, compared by identity
+
+    private final int n;
+    private final Supplier<HillClimbSearch> searches;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int bufferSize = DEFAULT_BUFFER;
+    private boolean distinct = false;
+
+    private volatile BlockingQueue<State> buffer;
+    private volatile ExecutorService pool;
+    private final SearchBudget budget = new SearchBudget();
+    private final Set<IntBuffer> seen = ConcurrentHashMap.newKeySet(); //Boards handed out, IntBuffer compares the contents
+    private AtomicInteger running;
+    private long remaining = Long.MAX_VALUE; //Distinct solutions not handed out yet
+    private State next;
+    private boolean started = false;
+    private volatile boolean done = false;
+    private volatile RuntimeException failure = null; //First failure of a worker, thrown to the consumer
+
+    /**
+     * Constructor that takes the board size and the search the workers run
+     * @param n the number of queens and NxN board
+     * @param searches creates the configured search of each worker
+     */
+    public SolutionStream(int n, Supplier<HillClimbSearch> searches) {
+        this.n = n;
+        this.searches = searches;
+    }
+
+    /**
+     * Creates a stream that runs min-conflicts on every worker, each with its own seed
+     * @param n the number of queens and NxN board
+     * @param seed the seed of the first worker, the others use the following seeds
+     * @return SolutionStream the stream
+     */
+    public static SolutionStream minConflicts(int n, long seed) {
+        AtomicInteger worker = new AtomicInteger();
+
+        return new SolutionStream(n, () -> {
+            HillClimbSearch search = new MinConflictsSearch(1);
+            search.setSeed(seed + worker.getAndIncrement());
+            return search;
+        });
+    }
+
+    /**
+     * Sets the number of worker threads
+     * @param workers the number of workers, default is the number of processors
+     * @return SolutionStream this stream
+     * @throws IllegalArgumentException if workers is less than 1
+     * @throws IllegalStateException if the stream already started
+     */
+    public SolutionStream setWorkers(int workers) {
+        if(workers < 1) {
+            throw new IllegalArgumentException("workers must be positive: " + workers);
+        }
+        this.checkNotStarted();
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Sets how many solved boards may wait for the consumer
+     * @param bufferSize the buffer size, default is DEFAULT_BUFFER
+     * @return SolutionStream this stream
+     * @throws IllegalArgumentException if bufferSize is less than 1
+     * @throws IllegalStateException if the stream already started
+     */
+    public SolutionStream setBufferSize(int bufferSize) {
+        if(bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        this.checkNotStarted();
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * Sets if boards already handed out are dropped. Every board handed out is
+     * remembered, so memory grows with the number of boards consumed
+     * @param distinct true to only hand out each board once
+     * @return SolutionStream this stream
+     * @throws IllegalStateException if the stream already started
+     */
+    public SolutionStream setDistinct(boolean distinct) {
+        this.checkNotStarted();
+        this.distinct = distinct;
+        return this;
+    }
+
+    /**
+     * Throws if the workers were started, the settings can't change after that
+     */
+    private void checkNotStarted() {
+        if(this.started) {
+            throw new IllegalStateException("The stream already started");
+        }
+    }
+
+    /**
+     * Starts the workers, on the first board asked for
+     */
+    private void start() {
+        this.started = true;
+
+        if(!ExplicitSolution.exists(this.n)) {
+            this.done = true;
+            return;
+        }
+
+        if(this.distinct && this.n <= MAX_COUNTED_N) {
+            this.remaining = BacktrackingSolver.count(this.n);
+        }
+
+        this.buffer = new ArrayBlockingQueue<>(this.bufferSize);
+        this.running = new AtomicInteger(this.workers);
+        this.pool = Executors.newFixedThreadPool(this.workers, task -> {
+            Thread thread = new Thread(task, "solution-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for(int i = 0; i < this.workers; i++) {
+            this.pool.execute(this::work);
+        }
+    }
+
+    /**
+     * Solves boards until the stream is closed, blocking while the buffer is full.
+     * A failure is kept for the consumer and stops the other workers. The last
+     * worker to stop marks the end of the stream, if the buffer has room for it,
+     * otherwise the consumer finds out once it has taken every board
+     */
+    private void work() {
+        try {
+            HillClimbSearch search = this.searches.get();
+
+            while(!this.budget.isCancelled()) {
+                SolveResult result = search.solve(this.n, this.budget);
+
+                if(result.isSolved()) {
+                    this.buffer.put(result.getBest());
+                }
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch(RuntimeException e) {
+            synchronized(this.budget) {
+                if(this.failure == null) {
+                    this.failure = e;
+                }
+            }
+            this.budget.cancel();
+        } finally {
+            if(this.running.decrementAndGet() == 0) {
+                this.buffer.offer(END);
+            }
+        }
+    }
+
+    /**
+     * Checks if there is another board, waiting for the workers to solve one
+     * @return boolean false once the stream is closed or has no boards left
+     * @throws IllegalStateException if a worker failed and its boards were all taken
+     */
+    @Override
+    public synchronized boolean hasNext() {
+        if(!this.started) {
+            this.start();
+        }
+
+        while(this.next == null && !this.done) {
+            if(this.remaining == 0) {
+                this.close();
+                break;
+            }
+
+            State state;
+            try {
+                state = this.buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.close();
+                break;
+            }
+
+            //Every board is put before its worker stops, so none can follow an empty buffer
+            if(state == null) {
+                if(this.running.get() > 0 || !this.buffer.isEmpty()) {
+                    continue;
+                }
+                state = END;
+            }
+
+            //The state is the consumer's to move, so a copy of its queens is remembered
+            if(state == END) {
+                this.done = true;
+            } else if(!this.distinct || this.seen.add(IntBuffer.wrap(state.getQueensLocation().clone()))) {
+                this.next = state;
+                this.remaining--;
+            }
+        }
+
+        if(this.next == null && this.failure != null) {
+            throw new IllegalStateException("A stream worker failed", this.failure);
+        }
+        return this.next != null;
+    }
+
+    /**
+     * Takes the next board, waiting for the workers to solve one
+     * @return State a solved board
+     * @throws NoSuchElementException if the stream has no boards left
+     */
+    @Override
+    public synchronized State next() {
+        if(!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        State state = this.next;
+        this.next = null;
+        return state;
+    }
+
+    /**
+     * Wraps the boards in a sequential Stream that closes this stream when it is closed
+     * @return Stream the solved boards
+     */
+    public Stream<State> stream() {
+        Spliterator<State> boards = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL | (this.distinct ? Spliterator.DISTINCT : 0));
+        return StreamSupport.stream(boards, false).onClose(this::close);
+    }
+
+    /**
+     * Stops the workers and drops the boards waiting in the buffer. It can be called
+     * from any thread, a consumer waiting for a board wakes up with none
+     */
+    @Override
+    public void close() {
+        this.done = true;
+        this.budget.cancel();
+
+        if(this.pool != null) {
+            this.pool.shutdownNow();
+        }
+        if(this.buffer != null) {
+            this.buffer.clear();
+            this.buffer.offer(END);
+        }
+    }
+
+    /**
+     * Creates a publisher of solved boards. Every subscriber gets its own stream from
+     * the supplier, which is closed when the subscriber cancels or the stream ends
+     * @param streams creates the configured stream of each subscriber
+     * @return Flow.Publisher the publisher
+     */
+    public static Flow.Publisher<State> publisher(Supplier<SolutionStream> streams) {
+        return subscriber -> {
+            BoardSubscription subscription = new BoardSubscription(streams.get(), subscriber);
+            subscriber.onSubscribe(subscription);
+            subscription.start();
+        };
+    }
+
+    /**
+     * This class hands the boards of one stream to one subscriber, on its own
+     * thread, and only as many as the subscriber requested
+     */
+    private static class BoardSubscription implements Flow.Subscription, Runnable {
+
+        private final SolutionStream stream;
+        private final Flow.Subscriber<? super State> subscriber;
+        private long demand = 0; //Guarded by this
+        private boolean cancelled = false; //Guarded by this
+        private IllegalArgumentException error = null; //Guarded by this
+
+        BoardSubscription(SolutionStream stream, Flow.Subscriber<? super State> subscriber) {
+            this.stream = stream;
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Starts the thread that delivers the boards
+         */
+        void start() {
+            Thread thread = new Thread(this, "solution-publisher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public synchronized void request(long count) {
+            if(count <= 0) {
+                this.error = new IllegalArgumentException("request must be positive: " + count);
+            } else {
+                //Demand adds up, stopping at Long.MAX_VALUE
+                this.demand = this.demand + count < 0 ? Long.MAX_VALUE : this.demand + count;
+            }
+            this.notifyAll();
+        }
+
+        /**
+         * Stops delivering and closes the stream, so its workers stop and a delivery
+         * waiting for a board wakes up at once
+         */
+        @Override
+        public void cancel() {
+            synchronized(this) {
+                this.cancelled = true;
+                this.notifyAll();
+            }
+            this.stream.close();
+        }
+
+        /**
+         * Waits for demand, then takes a board from the stream and delivers it,
+         * until the subscriber cancels or the stream ends
+         */
+        @Override
+        public void run() {
+            try {
+                while(true) {
+                    synchronized(this) {
+                        while(this.demand == 0 && !this.cancelled && this.error == null) {
+                            this.wait();
+                        }
+                        if(this.cancelled) {
+                            return;
+                        }
+                        if(this.error != null) {
+                            this.cancelled = true;
+                            this.subscriber.onError(this.error);
+                            return;
+                        }
+                    }
+
+                    if(!this.stream.hasNext()) {
+                        //A cancelled subscriber is not told the stream ended
+                        boolean cancelled;
+                        synchronized(this) {
+                            cancelled = this.cancelled;
+                        }
+                        if(!cancelled) {
+                            this.subscriber.onComplete();
+                        }
+                        return;
+                    }
+                    State state = this.stream.next();
+
+                    synchronized(this) {
+                        if(this.cancelled) {
+                            return;
+                        }
+                        if(this.demand != Long.MAX_VALUE) {
+                            this.demand--;
+                        }
+                    }
+                    this.subscriber.onNext(state);
+                }
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch(RuntimeException e) {
+                this.subscriber.onError(e);
+            } finally {
+                this.stream.close();
+            }
+        }
+    }
+}
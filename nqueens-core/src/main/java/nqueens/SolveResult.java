@@ -0,0 +1,108 @@
+package nqueens;
+
+/**
+ * This class holds the outcome of a single budgeted solve: the best state found,
+ * its h(n), how the search ended and which search it was
+ * @author James Wooten
+ * @version 1.0
+ */
+public class SolveResult {
+
+    /**
+     * How a solve ended
+     */
+    public enum Outcome {
+        SOLVED, //Reached h(n) = 0
+        STUCK, //Stopped on its own without a solution
+        OUT_OF_BUDGET //Stopped by the deadline, the restart limit or a cancel
+    }
+
+    private final State best; //Best state found
+    private final int steps; //Number of moves made
+    private final int restarts; //Number of random restarts used
+    private final long wallNanos; //Wall time of the solve
+    private final Outcome outcome;
+    private final String search; //Name of the search that ran the solve
+
+    /**
+     * Constructor that takes in the result of the solve
+     * @param best the best state found
+     * @param steps the number of moves made
+     * @param restarts the number of random restarts used
+     * @param wallNanos the wall time of the solve in nanoseconds
+     * @param outcome how the solve ended
+     * @param search the name of the search that ran the solve
+     */
+    public SolveResult(State best, int steps, int restarts, long wallNanos, Outcome outcome, String search) {
+        this.best = best;
+        this.steps = steps;
+        this.restarts = restarts;
+        this.wallNanos = wallNanos;
+        this.outcome = outcome;
+        this.search = search;
+    }
+
+    /** 
+     * Checks if the board was solved
+     * @return boolean if the best state has h(n) = 0
+     */
+    public boolean isSolved() {
+        return this.outcome == Outcome.SOLVED;
+    }
+
+    /** 
+     * Getter for the best state
+     * @return State the best state found
+     */
+    public State getBest() {
+        return best;
+    }
+
+    /** 
+     * Getter for h(n) of the best state
+     * @return long the h(n) of the best state
+     */
+    public long getHValue() {
+        return best.getHValue();
+    }
+
+    /** 
+     * Getter for the moves
+     * @return int the number of moves made
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /** 
+     * Getter for the restarts
+     * @return int the number of random restarts used
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+
+    /** 
+     * Getter for the wall time
+     * @return long the wall time of the solve in nanoseconds
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /** 
+     * Getter for the outcome
+     * @return Outcome how the solve ended
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /** 
+     * Getter for the search
+     * @return String the name of the search that ran the solve
+     */
+    public String getSearch() {
+        return search;
+    }
+}
@@ -0,0 +1,569 @@
+package nqueens;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * This class represent a board state withing the n-Puzzle game.
+ * The queen locations (column to row) are the source of truth, so a state
+ * only takes O(n) memory. The NxN matrix is only built when it is asked for.
+ * h(n) is the number of pairs of queens that attack each other. It is a long,
+ * since up to n(n - 1) / 2 pairs overflow an int above 65536 queens
+ * @author James Wooten
+ * @version 1.0
+ */
+public class State {
+
+    private long hValue; //h(n) value
+    private long hash; //Zobrist hash of the queen locations
+    private int n; //number of queens and NxN board
+    private int[][] board = null; //Matrix view of the game board, built on demand
+    private int[] queenLocations; //Location of queens on current board
+    private int[] rowCounts; //Number of queens in each row
+    private int[] diagCounts; //Number of queens on each diagonal (row - column)
+    private int[] antiDiagCounts; //Number of queens on each anti-diagonal (row + column)
+    private State bestNeighbor = null;
+    private int lastMoveColumn = -1; //Column of the last move applied, -1 if none
+    private int lastMoveFromRow = -1; //Row the queen of the last move left
+
+   /**
+     * Constructor that takes in the number of simulations to run
+     * @param n the num of simulations to run
+     */
+    public State(int n) {
+        this.n = n;
+        this.queenLocations = new int[n];
+
+        this.generateRandomBoard();
+        this.countConflicts();
+    }
+
+    /**
+     * Constructor that takes in the n value and the RNG to place the queens with
+     * @param n the number of queens and NxN board
+     * @param rng the RNG used for the random board
+     */
+    public State(int n, RandomGenerator rng) {
+        this.n = n;
+        this.queenLocations = new int[n];
+
+        this.generateRandomBoard(rng);
+        this.countConflicts();
+    }
+
+    /**
+     * Constructor that takes a game board and the parents n value
+     * @param board the game board to read the queens from
+     * @param parent the parent to copy the n value from
+     */
+    public State(int[][] board, State parent) {
+        this.n = parent.n;
+        this.queenLocations = new int[this.n];
+        this.findQueens(board);
+        this.countConflicts();
+    }
+
+    /**
+     * Constructor that takes a set of queen locations (column to row)
+     * @param queenLocations the row of the queen in each column, kept by the state
+     */
+    public State(int[] queenLocations) {
+        this.n = queenLocations.length;
+        this.queenLocations = queenLocations;
+        this.countConflicts();
+    }
+
+    /**
+     * Constructor that deep copies another state, including its conflict counters
+     * @param parent the state to copy
+     */
+    public State(State parent) {
+        this.n = parent.n;
+        this.queenLocations = this.copyArray(parent.queenLocations);
+        this.rowCounts = this.copyArray(parent.rowCounts);
+        this.diagCounts = this.copyArray(parent.diagCounts);
+        this.antiDiagCounts = this.copyArray(parent.antiDiagCounts);
+        this.hValue = parent.hValue;
+        this.hash = parent.hash;
+    }
+
+    /**
+     * Randomly places one queen in each column
+     */
+    public void generateRandomBoard() {
+        this.generateRandomBoard(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Randomly places one queen in each column using the given RNG
+     * @param rng the RNG to place the queens with
+     */
+    public void generateRandomBoard(RandomGenerator rng) {
+        //Place queens in random spots
+        for(int i = 0; i < n; i++) {
+            this.queenLocations[i] = rng.nextInt(n);
+        }
+
+        this.board = null; //Matrix view is stale
+    }
+
+    /**
+     * Re-randomizes this state in place for a restart, reusing its queen locations
+     * and conflict counters instead of allocating a new state
+     * @param rng the RNG to place the queens with
+     */
+    public void randomize(RandomGenerator rng) {
+        this.generateRandomBoard(rng);
+        this.countConflicts();
+
+        this.bestNeighbor = null;
+        this.lastMoveColumn = -1;
+        this.lastMoveFromRow = -1;
+    }
+
+    /**
+     * Copies the queens, conflict counters and h(n) of another state of the same n
+     * into this state, reusing its arrays
+     * @param other the state to copy
+     */
+    public void copyFrom(State other) {
+        System.arraycopy(other.queenLocations, 0, this.queenLocations, 0, this.n);
+        System.arraycopy(other.rowCounts, 0, this.rowCounts, 0, this.rowCounts.length);
+        System.arraycopy(other.diagCounts, 0, this.diagCounts, 0, this.diagCounts.length);
+        System.arraycopy(other.antiDiagCounts, 0, this.antiDiagCounts, 0, this.antiDiagCounts.length);
+
+        this.hValue = other.hValue;
+        this.hash = other.hash;
+        this.board = null; //Matrix view is stale
+        this.bestNeighbor = null;
+        this.lastMoveColumn = other.lastMoveColumn;
+        this.lastMoveFromRow = other.lastMoveFromRow;
+    }
+
+    /** 
+     * Deep copies a 1-dim array
+     * @param arr the array to copy
+     * @return int[] new copy of array
+     */
+    protected int[] copyArray(int[] arr) {
+
+        int[] temp = new int[arr.length];
+
+        for(int i = 0; i < arr.length; i++) {
+            temp[i] = arr[i];
+        }
+
+        return temp;
+    }
+
+    
+    /** 
+     * Getter for best neighbor
+     * @return State the best neighbor
+     */
+    public State getBestNeighbor() {
+        return bestNeighbor;
+    }
+
+
+    /**
+     * Rebuilds the row, diagonal and anti-diagonal queen counts from the queen locations
+     * and recalculates h(n) and the Zobrist hash from them
+     */
+    public void countConflicts() {
+        //Reuse the counters if they exist so a restart does not allocate
+        if(this.rowCounts == null) {
+            this.rowCounts = new int[this.n];
+            this.diagCounts = new int[2 * this.n - 1];
+            this.antiDiagCounts = new int[2 * this.n - 1];
+        } else {
+            Arrays.fill(this.rowCounts, 0);
+            Arrays.fill(this.diagCounts, 0);
+            Arrays.fill(this.antiDiagCounts, 0);
+        }
+
+        this.hash = 0;
+
+        for(int i = 0; i < this.n; i++) {
+            int row = this.queenLocations[i];
+            this.rowCounts[row]++;
+            this.diagCounts[row - i + this.n - 1]++;
+            this.antiDiagCounts[row + i]++;
+            this.hash ^= zobristKey(i, row);
+        }
+
+        //Every pair of queens sharing a line attacks each other
+        this.hValue = this.sumConflicts(this.rowCounts) + this.sumConflicts(this.diagCounts)
+                + this.sumConflicts(this.antiDiagCounts);
+    }
+
+    /**
+     * Sums the attacking pairs for a set of line counts, c(c - 1) / 2 for a line of c queens
+     * @param counts the number of queens on each line
+     * @return long the attacking pairs on those lines
+     */
+    private long sumConflicts(int[] counts) {
+        long total = 0;
+
+        for(int i = 0; i < counts.length; i++) {
+            total += (long) counts[i] * (counts[i] - 1) / 2;
+        }
+
+        return total;
+    }
+
+    /**
+     * Gets the Zobrist key of a queen on a square. The keys are a fixed mix of the
+     * column and row instead of a random table, so they cost no memory for large n
+     * and hashes match across runs
+     * @param column the column of the queen
+     * @param row the row of the queen
+     * @return long the 64-bit key of the square
+     */
+    static long zobristKey(int column, int row) {
+        long z = (((long) column << 32) | row) * 0x9E3779B97F4A7C15L;
+
+        //SplitMix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** 
+     * Getter for the Zobrist hash, kept up to date by every move
+     * @return long the 64-bit hash of the queen locations
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the Zobrist hash the board would have after a move in O(1).
+     * The state itself is not changed
+     * @param i the column of the queen to move
+     * @param row the row to move the queen to
+     * @return long the hash after the move
+     */
+    public long hashAfterMove(int i, int row) {
+        return this.hash ^ zobristKey(i, this.queenLocations[i]) ^ zobristKey(i, row);
+    }
+
+    /**
+     * Counts how many queens attack the queen in a column in O(1)
+     * @param i the column of the queen
+     * @return int the number of queens attacking it
+     */
+    public int getConflicts(int i) {
+        int row = this.queenLocations[i];
+
+        return (this.rowCounts[row] - 1)
+                + (this.diagCounts[row - i + this.n - 1] - 1)
+                + (this.antiDiagCounts[row + i] - 1);
+    }
+
+    /**
+     * Scores the move of the queen in a column to a new row in O(1) using the
+     * conflict counters. The state itself is not changed
+     * @param i the column of the queen to move
+     * @param row the row to move the queen to
+     * @return long the h(n) the board would have after the move
+     */
+    public long evaluateMove(int i, int row) {
+        int oldRow = this.queenLocations[i];
+
+        if(oldRow == row) {
+            return this.hValue;
+        }
+
+        //Attacking pairs lost by lifting the queen out of its old lines
+        int removed = this.getConflicts(i);
+
+        //Attacking pairs gained on the new lines (they never share a line with the old spot)
+        int added = this.rowCounts[row]
+                + this.diagCounts[row - i + this.n - 1]
+                + this.antiDiagCounts[row + i];
+
+        return this.hValue + added - removed;
+    }
+
+    /**
+     * Moves the queen in a column to a new row in O(1), updating the conflict
+     * counters, h(n), the Zobrist hash and the matrix view if it has been built.
+     * A move to the row the queen is on changes nothing and leaves nothing to undo
+     * @param i the column of the queen to move
+     * @param row the row to move the queen to
+     */
+    public void applyMove(int i, int row) {
+        int oldRow = this.queenLocations[i];
+
+        //Nothing moved, so there is nothing for undoMove to take back
+        if(oldRow == row) {
+            this.lastMoveColumn = -1;
+            this.lastMoveFromRow = -1;
+            return;
+        }
+
+        this.hValue = this.evaluateMove(i, row);
+        this.hash = this.hashAfterMove(i, row);
+
+        this.rowCounts[oldRow]--;
+        this.diagCounts[oldRow - i + this.n - 1]--;
+        this.antiDiagCounts[oldRow + i]--;
+
+        this.rowCounts[row]++;
+        this.diagCounts[row - i + this.n - 1]++;
+        this.antiDiagCounts[row + i]++;
+
+        if(this.board != null) {
+            this.board[oldRow][i] = 0;
+            this.board[row][i] = 1;
+        }
+        this.queenLocations[i] = row;
+
+        this.lastMoveColumn = i;
+        this.lastMoveFromRow = oldRow;
+    }
+
+    /**
+     * Takes back the last move applied to this state in O(1). Only one move can be
+     * undone, so calling it again does nothing until another move is applied
+     */
+    public void undoMove() {
+        if(this.lastMoveColumn == -1) {
+            return;
+        }
+
+        this.applyMove(this.lastMoveColumn, this.lastMoveFromRow);
+
+        this.lastMoveColumn = -1;
+        this.lastMoveFromRow = -1;
+    }
+
+    /** 
+     * Getter for the column of the last move applied to this state
+     * @return int the column, or -1 if no move was applied
+     */
+    public int getLastMoveColumn() {
+        return lastMoveColumn;
+    }
+
+    
+    /** 
+     * Getter for the row the queen of the last move left
+     * @return int the row, or -1 if no move was applied
+     */
+    public int getLastMoveFromRow() {
+        return lastMoveFromRow;
+    }
+
+    /**
+     * Recalculates h(n) in O(n) from the conflict counters
+     */
+    public void calculateHeuristic() {
+        this.countConflicts();
+    }
+
+    
+    /** 
+     * Adds the queens in later columns that diagonally conflict with a queen to h(n).
+     * Checking every queen this way counts each pair once, in O(n^2)
+     * @param i the queen location to check for conflicts
+     */
+    public void checkDiagonalConflicts(int i) {
+        for(int j = i + 1; j < this.queenLocations.length; j++) {
+            if(Math.abs(i - j) == Math.abs(this.queenLocations[i] - this.queenLocations[j])) {
+                this.hValue++;
+            }
+        }
+                
+    }
+
+    
+    /** 
+     * Adds the queens in later columns that horizontally conflict with a queen to h(n).
+     * Checking every queen this way counts each pair once, in O(n^2)
+     * @param i the queen to check for conflicts
+     */
+    public void checkHorizontalConflicts(int i) {
+            for(int j = i + 1; j < this.queenLocations.length; j++) {
+                if(this.queenLocations[i] == this.queenLocations[j]) {
+                    this.hValue++;
+                }
+            }
+    }
+
+    
+    /** 
+     * Sets the game board 
+     * @param board the board to set
+     */
+    public void setBoard(int[][] board) {
+        this.findQueens(board); //Get location of queens
+        this.countConflicts(); //Rebuild the conflict counters and h(n)
+    }
+
+    
+    /** 
+     * Builds a new matrix copy of the current board from the queen locations
+     * @return int[][] the copy of the current board
+     */
+    public int[][] copyBoard() {
+
+        int[][] newBoard = new int[this.n][this.n];
+
+        for(int i = 0; i < this.n; i++) {
+            newBoard[this.queenLocations[i]][i] = 1;
+        }
+
+        return newBoard;
+    }
+
+    
+
+    
+    /** 
+     * Deep copies a game board
+     * @param arr the board to copy
+     * @return int[][] the new copy
+     */
+    public int[][] copyBoard(int[][] arr) {
+
+        int[][] newBoard = new int[this.n][this.n];
+
+        for(int i = 0; i < this.n; i++) {
+            for(int j = 0; j < this.n; j++) {
+                newBoard[i][j] = arr[i][j];
+            }
+        }
+
+        return newBoard;
+    }
+
+    
+    /** 
+     * Getter for h(n)
+     * @return long the h(n)
+     */
+    public long getHValue() {
+        return hValue;
+    }
+
+    
+    /** 
+     * Swaps the location of a queen with a non-queen location
+     * @param i the column
+     * @param newQueen the row of the new queen
+     * @param oldQueen the row of the old queen
+     * @param board the state to swap the game board
+     */
+    public void swapBoard(int i, int newQueen, int oldQueen, State board) {
+        board.applyMove(i, newQueen);
+    }
+
+    /**
+     * Finds the locations of the queens on a game board and keeps it as the matrix view
+     * @param board the game board to read
+     */
+    public void findQueens(int[][] board) {
+        for(int i = 0; i < n; i ++) {
+            for( int j = 0; j < n; j++) {
+                if(board[j][i] == 1) {
+                    this.queenLocations[i] = j;
+                }
+            }
+        }
+        this.board = board;
+    }
+
+    
+    /** 
+     * Getter for game board. The matrix is built from the queen locations
+     * the first time it is asked for
+     * @return int[][] game board
+     */
+    public int[][] getBoard() {
+        if(this.board == null) {
+            this.board = this.copyBoard();
+        }
+        return board;
+    }
+
+    
+    /** 
+     * Getter for queens location
+     * @return int[] the location of the queens
+     */
+    public int[] getQueensLocation() {
+        return this.queenLocations;
+    }
+
+    
+    /** 
+     * Setter for h(n)
+     * @param h the new h(n)
+     */
+    public void setHValue(long h) {
+        this.hValue = h;
+    }
+
+    
+    /** 
+     * Setter for best neighbor
+     * @param neighbor new best neighbor
+     */
+    public void setBestNeighbor(State neighbor) {
+        this.bestNeighbor = neighbor;
+    }
+
+    
+    /** 
+     * Compares gameboards to see if they are identical
+     * @param arr the board to check against
+     * @return Boolean if identical
+     */
+    public Boolean compareBoards(int[][] arr) {
+        int[][] board = this.getBoard();
+        for(int i = 0; i < this.n; i++) {
+            for( int j = 0; j < this.n; j++) {
+                if(board[i][j] != arr[i][j]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    
+    /** 
+     * Compares the queen locations of two states to see if they are identical
+     * @param other the state to check against
+     * @return boolean if identical
+     */
+    public boolean compareBoards(State other) {
+        return Arrays.equals(this.queenLocations, other.queenLocations);
+    }
+
+    /**
+     * Prints formatted game board
+     */
+    public void printBoard() {
+        this.printBoard(System.out);
+    }
+
+    /**
+     * Prints formatted game board to a stream, one row per line
+     * @param out the stream to print to
+     */
+    public void printBoard(PrintStream out) {
+        StringBuilder row = new StringBuilder(2 * this.n);
+        for(int i = 0; i < n; i++) {
+            row.setLength(0);
+            for( int j = 0; j < n; j++) {
+                row.append(this.queenLocations[j] == i ? "1 " : "0 ");
+            }
+            out.println(row);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,281 @@
+package nqueens;
+
+/**
+ * This class represents Tabu Search. Every step moves to the best neighbor even
+ * if it is worse than the current board, and the square a queen leaves is tabu
+ * for that queen for a number of steps (the tenure), so the search cannot walk
+ * straight back. A tabu move is still allowed if it beats the best h(n) of the
+ * round (the aspiration criterion). If the best h(n) does not improve for a
+ * number of steps the board is randomly restarted. Since every step makes one
+ * square tabu, the tabu squares are exactly the ones left by the last tenure
+ * moves, which are kept in a ring with a count per column, so the tabu list
+ * takes O(n + tenure) memory. It is an extension of the HillClimbSearch Class
+ * and reports through the same stats
+ * @author James Wooten
+ * @version 1.0
+ */
+public class TabuSearch extends HillClimbSearch {
+
+    final int DEFAULT_TENURE = 10; //The default number of steps a left square stays tabu
+    final int MAX_STALL_STEPS = 100; //The default steps without a new best h(n) before a restart
+    protected int tenure = DEFAULT_TENURE;
+    protected int stallLimit = MAX_STALL_STEPS;
+    private int[] tabuColumns; //Columns of the last tenure moves, oldest first from tabuStart
+    private int[] tabuRows; //Rows the queens of those moves left
+    private int tabuStart = 0; //Ring index of the oldest tabu move
+    private int tabuSize = 0; //Number of tabu moves in the ring
+    private int[] tabuCount; //Number of tabu squares in each column
+    private long roundBestH; //Best h(n) since the start of the round or the last restart
+
+    /**
+     * Constructor that takes in the number of simulations to run
+     * @param n the num of simulations to run
+     */
+    public TabuSearch(int n) {
+        super(n);
+    }
+
+    /**
+     * Creates a fresh search of this type for a single parallel trial
+     * @return HillClimbSearch the new search
+     */
+    @Override
+    protected HillClimbSearch newTrial() {
+        return new TabuSearch(1);
+    }
+
+    /**
+     * Copies the settings of this search, including the tenure and stall limit, onto a parallel trial
+     * @param trial the search that runs the trial
+     * @param simNum the trial number
+     */
+    @Override
+    protected void configureTrial(HillClimbSearch trial, int simNum) {
+        super.configureTrial(trial, simNum);
+        ((TabuSearch) trial).tenure = this.tenure;
+        ((TabuSearch) trial).stallLimit = this.stallLimit;
+    }
+
+    /**
+     * Sets the number of steps a queen may not move back to the square it left
+     * @param tenure the tabu tenure
+     */
+    public void setTenure(int tenure) {
+        this.tenure = tenure;
+    }
+
+    /**
+     * Sets the number of steps without a new best h(n) before the board is restarted
+     * @param stallLimit the stall limit
+     */
+    public void setStallLimit(int stallLimit) {
+        this.stallLimit = stallLimit;
+    }
+
+    /**
+     * Moves to the best allowed neighbor every step until the board is solved or the
+     * budget runs out, restarting when the best h(n) stops improving
+     * @param simNum the current simulation number
+     */
+    @Override
+    protected void simRound(int simNum) {
+        int count = 0;
+        int stall = 0;
+
+        this.clearTabu();
+        traceStart(simNum);
+
+        //Until the board is solved or the budget runs out
+        while(this.current.getHValue() != 0 && !this.isOutOfBudget()) {
+            long before = this.current.getHValue();
+
+            this.generateBestNeighbors();
+
+            //Every move is tabu, so start over
+            if(this.bestMoveColumn == -1) {
+                this.restart();
+                stall = 0;
+                count++;
+                continue;
+            }
+
+            int column = this.bestMoveColumn;
+            int fromRow = this.current.getQueensLocation()[column];
+
+            this.current.applyMove(column, this.bestMoveRow);
+            this.addTabu(column, fromRow);
+            count++;
+
+            if(this.current.getHValue() == before) {
+                this.numSidewaysMoves++;
+            }
+
+            //Track the best h(n) and restart once it stalls
+            if(this.current.getHValue() < this.roundBestH) {
+                this.roundBestH = this.current.getHValue();
+                stall = 0;
+            } else if(++stall == this.stallLimit) {
+                this.restart();
+                stall = 0;
+            }
+
+            printPaths(simNum, count);
+        }
+
+        printSuccessFail(simNum);
+        checkStats(count);
+    }
+
+    /**
+     * Re-randomizes the current state and forgets the tabu squares of the old board
+     */
+    @Override
+    protected void restart() {
+        super.restart();
+        this.clearTabu();
+    }
+
+    /**
+     * Empties the tabu list, only a new n or tenure allocates it again
+     */
+    private void clearTabu() {
+        if(this.tabuCount == null || this.tabuCount.length != this.n || this.tabuColumns.length != this.tenure) {
+            this.tabuColumns = new int[this.tenure];
+            this.tabuRows = new int[this.tenure];
+            this.tabuCount = new int[this.n];
+        } else {
+            for(int k = 0; k < this.tabuSize; k++) {
+                this.tabuCount[this.tabuColumns[(this.tabuStart + k) % this.tenure]]--;
+            }
+        }
+
+        this.tabuStart = 0;
+        this.tabuSize = 0;
+        this.roundBestH = this.current.getHValue();
+    }
+
+    /**
+     * Makes the square a queen left tabu for the next tenure steps, dropping the
+     * oldest tabu square once the ring is full
+     * @param column the column of the moved queen
+     * @param row the row it left
+     */
+    private void addTabu(int column, int row) {
+        if(this.tenure == 0) {
+            return;
+        }
+
+        if(this.tabuSize == this.tenure) {
+            this.tabuCount[this.tabuColumns[this.tabuStart]]--;
+            this.tabuStart = (this.tabuStart + 1) % this.tenure;
+            this.tabuSize--;
+        }
+
+        int k = (this.tabuStart + this.tabuSize) % this.tenure;
+        this.tabuColumns[k] = column;
+        this.tabuRows[k] = row;
+        this.tabuSize++;
+        this.tabuCount[column]++;
+    }
+
+    /**
+     * Checks if a square is tabu, scanning the ring only for columns that have one
+     * @param column the column of the square
+     * @param row the row of the square
+     * @return boolean if the queen of the column may not move there
+     */
+    private boolean isTabu(int column, int row) {
+        if(this.tabuCount[column] == 0) {
+            return false;
+        }
+
+        for(int k = 0; k < this.tabuSize; k++) {
+            int i = (this.tabuStart + k) % this.tenure;
+            if(this.tabuColumns[i] == column && this.tabuRows[i] == row) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches through the board and scores every possible move with the current
+     * state's conflict counters. The best move is kept even if it is worse than the
+     * current board, skipping tabu moves unless they beat the best h(n) of the round.
+     * Ties are broken at random
+     */
+    @Override
+    public void generateBestNeighbors() {
+        if(this.tabuCount == null || this.tabuCount.length != this.n) {
+            this.clearTabu();
+        }
+
+        int[] queens = this.current.getQueensLocation();
+        long bestH = Long.MAX_VALUE;
+        int bestColumn = -1;
+        int bestRow = -1;
+        int ties = 0;
+
+        for(int i = 0; i < this.n; i++) {
+            for(int j = 0; j < this.n; j++) {
+                if(queens[i] != j) {
+                    long h = this.current.evaluateMove(i, j);
+
+                    if(h > bestH) {
+                        continue;
+                    }
+
+                    //Tabu squares are skipped unless the move beats the round's best
+                    if(h >= this.roundBestH && this.isTabu(i, j)) {
+                        continue;
+                    }
+
+                    if(h < bestH) {
+                        bestH = h;
+                        bestColumn = i;
+                        bestRow = j;
+                        ties = 1;
+                    } else if(this.rng.nextInt(++ties) == 0) {
+                        bestColumn = i;
+                        bestRow = j;
+                    }
+                }
+            }
+        }
+
+        this.bestMoveColumn = bestColumn;
+        this.bestMoveRow = bestRow;
+    }
+
+    /**
+     * Prints out the name of the search type
+     */
+    @Override
+    public void printSearchType() {
+        System.out.println();
+        System.out.println("-----TABU SEARCH RESULTS-----");
+    }
+
+    /**
+     * Prints the simulation stats including the random restart count
+     */
+    @Override
+    public void printResults() {
+
+        this.printSearchType();
+
+        if(this.successes > 0) {
+            System.out.println("Number of Simulations: " + this.numSimulations);
+            System.out.println("Number of Restarts: " + this.numRestarts);
+            System.out.println("Number of Successes: " + this.successes);
+            System.out.println("Number of Moves: " + this.numStepsSuccess);
+            System.out.println("Average Steps for Success: " +  (double) this.numStepsSuccess / this.successes);
+        }
+
+        if(this.failures > 0) {
+            System.out.println("Number of Failures: " + this.failures);
+            System.out.println("Number of Moves: " + this.numStepsFail);
+            System.out.println("Average Steps for Failure: " + (double) this.numStepsFail / this.failures);
+        }
+    }
+}
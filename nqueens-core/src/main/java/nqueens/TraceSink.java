@@ -0,0 +1,320 @@
+package nqueens;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class is an asynchronous trace of the search paths. Instead of printing
+ * every board, the search thread puts compact events (the starting queens, then
+ * column, from-row, to-row and h(n) per move) into a bounded ring buffer, and a
+ * background thread writes them out through a buffered NIO channel. The search
+ * thread never waits on I/O: if the writer falls behind and the ring is full the
+ * event is dropped and counted. The full boards can be rendered from the trace
+ * file later with render. The ring has a single producer, so one sink should only
+ * be fed by one search thread at a time
+ *
+ * Trace lines are "S sim n q0 q1 ..." for the starting board, "M sim step column
+ * from to h" for each move and "E sim h" for the end of a round
+ * @author James Wooten
+ * @version 1.0
+ */
+public class TraceSink implements AutoCloseable {
+
+    static final int DEFAULT_CAPACITY = 1 << 16; //Events the ring can hold
+    static final int BUFFER_SIZE = 1 << 16; //Bytes buffered before a write
+    static final long IDLE_PARK_NANOS = 100_000; //Writer sleep when the ring is empty
+
+    static final byte START = 0;
+    static final byte MOVE = 1;
+    static final byte END = 2;
+
+    private final int mask;
+    private final byte[] kinds;
+    private final int[] sims;
+    private final int[] steps;
+    private final int[] columns;
+    private final int[] fromRows;
+    private final int[] toRows;
+    private final long[] hValues;
+    private final int[][] boards; //Starting queens of START events
+
+    private volatile long head = 0; //Next slot to write, only moved by the search thread
+    private volatile long tail = 0; //Next slot to read, only moved by the writer thread
+    private volatile boolean closed = false;
+    private volatile long dropped = 0;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final StringBuilder line = new StringBuilder();
+    private final Thread writer;
+    private IOException failure = null;
+
+    /**
+     * Constructor that writes the trace to a file, replacing it if it exists
+     * @param path the file to write
+     * @throws IOException if the file cannot be opened
+     */
+    public TraceSink(Path path) throws IOException {
+        this(Files.newByteChannel(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor that writes the trace to a channel
+     * @param channel the channel to write to, closed with the sink
+     * @param capacity the number of events the ring can hold, rounded up to a power of two
+     */
+    public TraceSink(WritableByteChannel channel, int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+        this.mask = size - 1;
+        this.kinds = new byte[size];
+        this.sims = new int[size];
+        this.steps = new int[size];
+        this.columns = new int[size];
+        this.fromRows = new int[size];
+        this.toRows = new int[size];
+        this.hValues = new long[size];
+        this.boards = new int[size][];
+
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        this.writer = new Thread(this::drain, "trace-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Records the starting board of a round
+     * @param simNum the simulation number
+     * @param state the starting state, its queen locations are copied
+     */
+    public void start(int simNum, State state) {
+        int[] queens = state.getQueensLocation();
+        this.publish(START, simNum, 0, 0, 0, 0, state.getHValue(), queens.clone());
+    }
+
+    /**
+     * Records a move of a round
+     * @param simNum the simulation number
+     * @param step the step number of the move
+     * @param column the column of the moved queen
+     * @param fromRow the row the queen left
+     * @param toRow the row the queen moved to
+     * @param hValue the h(n) after the move
+     */
+    public void move(int simNum, int step, int column, int fromRow, int toRow, long hValue) {
+        this.publish(MOVE, simNum, step, column, fromRow, toRow, hValue, null);
+    }
+
+    /**
+     * Records the end of a round
+     * @param simNum the simulation number
+     * @param hValue the h(n) of the final board
+     */
+    public void end(int simNum, long hValue) {
+        this.publish(END, simNum, 0, 0, 0, 0, hValue, null);
+    }
+
+    /**
+     * Puts an event in the ring, or drops it if the ring is full
+     */
+    private void publish(byte kind, int simNum, int step, int column, int fromRow, int toRow,
+            long hValue, int[] board) {
+        long slot = this.head;
+
+        if(slot - this.tail > this.mask) {
+            this.dropped++;
+            return;
+        }
+
+        int i = (int) slot & this.mask;
+        this.kinds[i] = kind;
+        this.sims[i] = simNum;
+        this.steps[i] = step;
+        this.columns[i] = column;
+        this.fromRows[i] = fromRow;
+        this.toRows[i] = toRow;
+        this.hValues[i] = hValue;
+        this.boards[i] = board;
+
+        this.head = slot + 1; //Publishes the slot to the writer
+    }
+
+    /**
+     * Getter for the dropped events
+     * @return long the number of events dropped because the ring was full
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Writer thread loop, formats events until the sink is closed and the ring is empty
+     */
+    private void drain() {
+        try {
+            while(true) {
+                long available = this.head;
+
+                if(this.tail == available) {
+                    if(this.closed && this.tail == this.head) {
+                        break;
+                    }
+                    this.flush();
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+
+                for(long slot = this.tail; slot < available; slot++) {
+                    int i = (int) slot & this.mask;
+                    this.format(i);
+                    this.boards[i] = null;
+                    this.tail = slot + 1;
+                }
+            }
+            this.flush();
+        } catch(IOException e) {
+            this.failure = e;
+        }
+    }
+
+    /**
+     * Formats one event as a trace line into the write buffer
+     * @param i the ring slot of the event
+     * @throws IOException if the buffer has to be flushed and the write fails
+     */
+    private void format(int i) throws IOException {
+        this.line.setLength(0);
+
+        if(this.kinds[i] == START) {
+            int[] board = this.boards[i];
+            this.line.append("S ").append(this.sims[i]).append(' ').append(board.length);
+            for(int q : board) {
+                this.line.append(' ').append(q);
+            }
+        } else if(this.kinds[i] == MOVE) {
+            this.line.append("M ").append(this.sims[i]).append(' ').append(this.steps[i])
+                    .append(' ').append(this.columns[i]).append(' ').append(this.fromRows[i])
+                    .append(' ').append(this.toRows[i]).append(' ').append(this.hValues[i]);
+        } else {
+            this.line.append("E ").append(this.sims[i]).append(' ').append(this.hValues[i]);
+        }
+        this.line.append('\n');
+
+        byte[] bytes = this.line.toString().getBytes(StandardCharsets.US_ASCII);
+        int offset = 0;
+
+        while(offset < bytes.length) {
+            if(!this.buffer.hasRemaining()) {
+                this.flush();
+            }
+            int length = Math.min(this.buffer.remaining(), bytes.length - offset);
+            this.buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Writes out the buffered bytes
+     * @throws IOException if the write fails
+     */
+    private void flush() throws IOException {
+        this.buffer.flip();
+        while(this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Waits for the writer to write every queued event, then closes the channel
+     * @throws IOException if writing the trace failed
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+
+        try {
+            this.writer.join();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.channel.close();
+
+        if(this.failure != null) {
+            throw this.failure;
+        }
+    }
+
+    /**
+     * Renders the boards of a trace file in the same format as the printed search
+     * paths: every board after a move with its h(n), then Success! or Failure!
+     * Moves and ends of a round whose start was dropped can't be rendered, so they
+     * are skipped and counted. A move whose from-row does not match the board means
+     * an earlier move was dropped, so the rest of that round is skipped the same way,
+     * until the next start of the round
+     * @param path the trace file to read
+     * @param out the stream to print the boards to
+     * @return long the number of events skipped
+     * @throws IOException if the file cannot be read
+     */
+    public static long render(Path path, PrintStream out) throws IOException {
+        Map<Integer, int[]> boards = new HashMap<>();
+        long skipped = 0;
+
+        try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            String line;
+
+            while((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ");
+                int simNum = Integer.parseInt(parts[1]);
+
+                if(parts[0].equals("S")) {
+                    int n = Integer.parseInt(parts[2]);
+                    int[] queens = new int[n];
+                    for(int i = 0; i < n; i++) {
+                        queens[i] = Integer.parseInt(parts[3 + i]);
+                    }
+                    boards.put(simNum, queens);
+                } else if(!boards.containsKey(simNum)) {
+                    skipped++;
+                } else if(parts[0].equals("M")) {
+                    int[] queens = boards.get(simNum);
+                    int column = Integer.parseInt(parts[3]);
+
+                    if(queens[column] != Integer.parseInt(parts[4])) {
+                        boards.remove(simNum);
+                        skipped++;
+                        continue;
+                    }
+
+                    queens[column] = Integer.parseInt(parts[5]);
+                    new State(queens.clone()).printBoard(out);
+                    out.println("h(n): " + parts[6]);
+                    out.println();
+                } else {
+                    out.println(parts[2].equals("0") ? "Success!" : "Failure!");
+                    boards.remove(simNum);
+                }
+            }
+        }
+
+        if(skipped > 0) {
+            out.println("Skipped " + skipped + " events of rounds whose start or a move was dropped");
+        }
+        return skipped;
+    }
+}
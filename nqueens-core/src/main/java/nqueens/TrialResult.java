@@ -0,0 +1,110 @@
+package nqueens;
+
+/**
+ * This class holds the measurements of a single simulation round
+ * @author James Wooten
+ * @version 1.0
+ */
+public class TrialResult {
+
+    private final int simNum; //Simulation number of the round
+    private final long hValue; //h(n) of the final board
+    private final int steps; //Number of moves made
+    private final int restarts; //Number of random restarts used
+    private final int sidewaysMoves; //Number of moves that kept the same h(n)
+    private final long wallNanos; //Wall time of the round
+    private final long allocatedBytes; //Bytes allocated by the round, -1 if unknown
+
+    /**
+     * Constructor that takes in the measurements of the round
+     * @param simNum the simulation number
+     * @param hValue the h(n) of the final board
+     * @param steps the number of moves made
+     * @param restarts the number of random restarts used
+     * @param sidewaysMoves the number of moves that kept the same h(n)
+     * @param wallNanos the wall time of the round in nanoseconds
+     * @param allocatedBytes the bytes allocated by the round, -1 if unknown
+     */
+    public TrialResult(int simNum, long hValue, int steps, int restarts, int sidewaysMoves,
+            long wallNanos, long allocatedBytes) {
+        this.simNum = simNum;
+        this.hValue = hValue;
+        this.steps = steps;
+        this.restarts = restarts;
+        this.sidewaysMoves = sidewaysMoves;
+        this.wallNanos = wallNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /** 
+     * Checks if the round solved the board
+     * @return boolean if h(n) is 0
+     */
+    public boolean isSuccess() {
+        return this.hValue == 0;
+    }
+
+    /** 
+     * Getter for the nanoseconds per move
+     * @return double the wall time divided by the moves, or the wall time with no moves
+     */
+    public double getNanosPerStep() {
+        return (double) this.wallNanos / Math.max(1, this.steps);
+    }
+
+    /** 
+     * Getter for the simulation number
+     * @return int the simulation number
+     */
+    public int getSimNum() {
+        return simNum;
+    }
+
+    /** 
+     * Getter for h(n)
+     * @return long the h(n) of the final board
+     */
+    public long getHValue() {
+        return hValue;
+    }
+
+    /** 
+     * Getter for the moves
+     * @return int the number of moves made
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /** 
+     * Getter for the restarts
+     * @return int the number of random restarts used
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+
+    /** 
+     * Getter for the sideways moves
+     * @return int the number of moves that kept the same h(n)
+     */
+    public int getSidewaysMoves() {
+        return sidewaysMoves;
+    }
+
+    /** 
+     * Getter for the wall time
+     * @return long the wall time of the round in nanoseconds
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /** 
+     * Getter for the allocated bytes
+     * @return long the bytes allocated by the round, -1 if unknown
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
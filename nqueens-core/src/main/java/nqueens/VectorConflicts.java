@@ -0,0 +1,163 @@
+package nqueens;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class is the SIMD path of ConflictCounter, built on the incubating Vector
+ * API. The diagonal and anti-diagonal index of every queen (row - column and
+ * row + column) is computed a whole vector of columns at a time, along with the
+ * check that every row is on the board. The histogram increments stay scalar,
+ * since queens in the same lanes can land on the same line. The attacking pairs
+ * then come from the histogram in lanes: every queen is on exactly one row,
+ * diagonal and anti-diagonal, so the lines hold 3n queens and the pairs are
+ * (sum of c^2 - 3n) / 2. Only ConflictCounter uses this class, and only once it
+ * has checked that the jdk.incubator.vector module is loaded
+ * @author James Wooten
+ * @version 1.0
+ */
+class VectorConflicts {
+
+    static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    static final VectorSpecies<Short> SHORTS = VectorSpecies.of(short.class, VectorShape.forBitSize(INTS.vectorBitSize() / 2)); //Same lanes as INTS
+    static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    static final VectorSpecies<Integer> HALF_INTS = VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2)); //Same lanes as LONGS
+    static final int CHUNK = 1024; //Columns whose line indices are buffered at a time
+
+    private static final IntVector LANES = IntVector.zero(INTS).addIndex(1); //0, 1, 2, ... in each lane
+
+    /**
+     * Constructor is private, the class only has static methods
+     */
+    private VectorConflicts() {
+    }
+
+    /**
+     * Counts the attacking pairs of a board into short line counts
+     * @param queens the row of the queen in each column
+     * @param counts the zeroed counts of the 5n - 2 lines, rows then diagonals then anti-diagonals
+     * @param diag buffer of CHUNK diagonal indices
+     * @param antiDiag buffer of CHUNK anti-diagonal indices
+     * @return long the number of attacking pairs, or -1 if a row is off the board
+     */
+    static long count(int[] queens, short[] counts, int[] diag, int[] antiDiag) {
+        int n = queens.length;
+
+        for(int start = 0; start < n; start += CHUNK) {
+            int length = Math.min(CHUNK, n - start);
+            if(!lineIndices(queens, start, length, diag, antiDiag)) {
+                return -1;
+            }
+            for(int k = 0; k < length; k++) {
+                counts[queens[start + k]]++;
+                counts[diag[k]]++;
+                counts[antiDiag[k]]++;
+            }
+        }
+
+        //The sum of squares is at most 3n^2, which fits 32 unsigned bits for n up to 37837,
+        //so the int lanes may wrap and the total is read back unsigned
+        IntVector sum = IntVector.zero(INTS);
+        int i = 0;
+        int bound = SHORTS.loopBound(counts.length);
+
+        for(; i < bound; i += SHORTS.length()) {
+            IntVector c = (IntVector) ShortVector.fromArray(SHORTS, counts, i).convertShape(VectorOperators.S2I, INTS, 0);
+            sum = sum.add(c.mul(c));
+        }
+
+        int total = sum.reduceLanes(VectorOperators.ADD);
+        for(; i < counts.length; i++) {
+            total += counts[i] * counts[i];
+        }
+
+        return (Integer.toUnsignedLong(total) - 3L * n) / 2;
+    }
+
+    /**
+     * Counts the attacking pairs of a board into int line counts
+     * @param queens the row of the queen in each column
+     * @param counts the zeroed counts of the 5n - 2 lines, rows then diagonals then anti-diagonals
+     * @param diag buffer of CHUNK diagonal indices
+     * @param antiDiag buffer of CHUNK anti-diagonal indices
+     * @return long the number of attacking pairs, or -1 if a row is off the board
+     */
+    static long count(int[] queens, int[] counts, int[] diag, int[] antiDiag) {
+        int n = queens.length;
+
+        for(int start = 0; start < n; start += CHUNK) {
+            int length = Math.min(CHUNK, n - start);
+            if(!lineIndices(queens, start, length, diag, antiDiag)) {
+                return -1;
+            }
+            for(int k = 0; k < length; k++) {
+                counts[queens[start + k]]++;
+                counts[diag[k]]++;
+                counts[antiDiag[k]]++;
+            }
+        }
+
+        //Squares of counts above 46340 overflow an int, so they are taken in long lanes
+        LongVector sum = LongVector.zero(LONGS);
+        int i = 0;
+        int bound = HALF_INTS.loopBound(counts.length);
+
+        for(; i < bound; i += HALF_INTS.length()) {
+            LongVector c = (LongVector) IntVector.fromArray(HALF_INTS, counts, i).convertShape(VectorOperators.I2L, LONGS, 0);
+            sum = sum.add(c.mul(c));
+        }
+
+        long total = sum.reduceLanes(VectorOperators.ADD);
+        for(; i < counts.length; i++) {
+            total += (long) counts[i] * counts[i];
+        }
+
+        return (total - 3L * n) / 2;
+    }
+
+    /**
+     * Computes the diagonal and anti-diagonal count index of a run of columns in lanes,
+     * offset to where those lines start in the counts
+     * @param queens the row of the queen in each column
+     * @param start the first column
+     * @param length the number of columns, at most CHUNK
+     * @param diag filled with the diagonal index of each column
+     * @param antiDiag filled with the anti-diagonal index of each column
+     * @return boolean false if a row is off the board
+     */
+    private static boolean lineIndices(int[] queens, int start, int length, int[] diag, int[] antiDiag) {
+        int n = queens.length;
+        int diagBase = n + n - 1; //Diagonals start after the n rows, shifted so row - column >= 0
+        int antiDiagBase = 3 * n - 1; //Anti-diagonals start after the 2n - 1 diagonals
+        int k = 0;
+        int bound = INTS.loopBound(length);
+
+        for(; k < bound; k += INTS.length()) {
+            IntVector rows = IntVector.fromArray(INTS, queens, start + k);
+
+            //Unsigned compare catches negative rows too
+            if(rows.compare(VectorOperators.UNSIGNED_GE, n).anyTrue()) {
+                return false;
+            }
+
+            IntVector columns = LANES.add(start + k);
+            rows.sub(columns).add(diagBase).intoArray(diag, k);
+            rows.add(columns).add(antiDiagBase).intoArray(antiDiag, k);
+        }
+
+        for(; k < length; k++) {
+            int row = queens[start + k];
+            if(row < 0 || row >= n) {
+                return false;
+            }
+            diag[k] = row - (start + k) + diagBase;
+            antiDiag[k] = row + start + k + antiDiagBase;
+        }
+
+        return true;
+    }
+}